@@ -0,0 +1,60 @@
+package zbot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import zbot.command.CommandRegistry;
+import zbot.command.ParsedCommand;
+
+/**
+ * Measures looking up and tokenizing a command for each type of user input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CommandDispatchBenchmark {
+    @Param({
+        "list",
+        "todo read book",
+        "deadline return book /by 02/12/2019 1800",
+        "event project meeting /from 02/12/2019 1400 /to 02/12/2019 1600",
+        "mark 12",
+        "delete 12",
+        "note 12 bring the slides",
+        "find /word book",
+        "due /from 01/12/2019 /to 31/12/2019",
+        "events /from 01/12/2019 /to 31/12/2019",
+        "unknown command"
+    })
+    private String input;
+
+    private CommandRegistry registry = CommandRegistry.createDefault();
+
+    /**
+     * Parses the input and reads every part a handler would use.
+     */
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        ParsedCommand command = registry.parse(input);
+        blackhole.consume(command.getCommand());
+        blackhole.consume(command.getBody());
+        blackhole.consume(command.getFlag("from"));
+        blackhole.consume(command.getFlag("to"));
+        blackhole.consume(command.getFlag("by"));
+    }
+
+}
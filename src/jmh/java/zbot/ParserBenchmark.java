@@ -0,0 +1,77 @@
+package zbot;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing and formatting dates in the input and output formats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+    @Param({"02/12/2019 1800", "02/12/2019", "02/12/+12019 1800"})
+    private String input;
+
+    private LocalDateTime dateTime;
+    private StringBuilder sb = new StringBuilder();
+
+    /**
+     * Parses the input once for the formatting benchmarks.
+     */
+    @Setup
+    public void setUp() {
+        dateTime = Parser.parseDateTime(input);
+    }
+
+    /**
+     * Parses the input, through the fixed-layout path or, for years beyond four digits,
+     * the formatter.
+     */
+    @Benchmark
+    public LocalDateTime parseDateTime() {
+        return Parser.parseDateTime(input);
+    }
+
+    /**
+     * Formats the date for output, as in responses.
+     */
+    @Benchmark
+    public String formatToOutput() {
+        return Parser.formatDateTimeToOutput(dateTime);
+    }
+
+    /**
+     * Formats the date in the input format, as in saved tasks.
+     */
+    @Benchmark
+    public String formatToInput() {
+        return Parser.formatDateTimeToInput(dateTime);
+    }
+
+    /**
+     * Appends the date in the input format to a reused builder.
+     */
+    @Benchmark
+    public StringBuilder appendForInput() {
+        sb.setLength(0);
+        Parser.appendDateTimeForInput(sb, dateTime);
+        return sb;
+    }
+
+}
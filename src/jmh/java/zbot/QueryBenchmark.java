@@ -0,0 +1,96 @@
+package zbot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import zbot.command.CommandContext;
+import zbot.command.CommandRegistry;
+import zbot.command.ParsedCommand;
+import zbot.ui.Ui;
+
+/**
+ * Measures the find and list commands, from parsed input to the response text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class QueryBenchmark {
+    @Param({"1000", "100000"})
+    private int taskCount;
+
+    @Param({"TODOS", "DEADLINES", "EVENTS", "MIXED"})
+    private TaskFixtures.TypeMix typeMix;
+
+    @Param({"false", "true"})
+    private boolean hasNotes;
+
+    private CommandContext context;
+    private ParsedCommand findRare;
+    private ParsedCommand findCommon;
+    private ParsedCommand findWord;
+    private ParsedCommand list;
+
+    /**
+     * Creates the task list and builds its keyword index with a first query.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        TaskList tasks = new TaskList(TaskFixtures.generate(taskCount, typeMix, hasNotes));
+        context = new CommandContext(tasks, null, new Ui());
+
+        CommandRegistry registry = CommandRegistry.createDefault();
+        findRare = registry.parse("find " + (taskCount / 2));
+        findCommon = registry.parse("find book");
+        findWord = registry.parse("find /word review");
+        list = registry.parse("list");
+        findCommon.getCommand().execute(findCommon, context);
+    }
+
+    /**
+     * Finds the few tasks whose description contains a task number.
+     */
+    @Benchmark
+    public String findRare() {
+        return findRare.getCommand().execute(findRare, context);
+    }
+
+    /**
+     * Finds the tasks containing a common keyword, about one in seven.
+     */
+    @Benchmark
+    public String findCommon() {
+        return findCommon.getCommand().execute(findCommon, context);
+    }
+
+    /**
+     * Finds the tasks containing a common whole word.
+     */
+    @Benchmark
+    public String findWord() {
+        return findWord.getCommand().execute(findWord, context);
+    }
+
+    /**
+     * Lists every task.
+     */
+    @Benchmark
+    public String list() {
+        return list.getCommand().execute(list, context);
+    }
+
+}
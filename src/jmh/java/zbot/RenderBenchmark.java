@@ -0,0 +1,80 @@
+package zbot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import zbot.command.CommandContext;
+import zbot.command.CommandRegistry;
+import zbot.command.ParsedCommand;
+import zbot.task.Task;
+import zbot.ui.Ui;
+
+/**
+ * Measures the list command on an unchanged list, whose lines are already rendered, and
+ * on a list whose tasks have all changed since they were last rendered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RenderBenchmark {
+    @Param({"1000", "100000"})
+    private int taskCount;
+
+    @Param({"TODOS", "DEADLINES", "EVENTS", "MIXED"})
+    private TaskFixtures.TypeMix typeMix;
+
+    private TaskList tasks;
+    private CommandContext context;
+    private ParsedCommand list;
+
+    /**
+     * Creates the task list and renders every task once.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = new TaskList(TaskFixtures.generate(taskCount, typeMix, true));
+        context = new CommandContext(tasks, null, new Ui());
+        list = CommandRegistry.createDefault().parse("list");
+        listUnchanged();
+    }
+
+    /**
+     * Lists tasks whose lines are already rendered.
+     */
+    @Benchmark
+    public String listUnchanged() {
+        return list.getCommand().execute(list, context);
+    }
+
+    /**
+     * Changes the status of every task, twice so that it ends up the same, and lists
+     * them, rendering every line again.
+     */
+    @Benchmark
+    public String listChanged() {
+        for (Task task : tasks) {
+            boolean isDone = task.getStatus();
+            task.markAsDone();
+            if (!isDone) {
+                task.markAsUndone();
+            }
+        }
+        return list.getCommand().execute(list, context);
+    }
+
+}
@@ -0,0 +1,89 @@
+package zbot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import zbot.task.Task;
+
+/**
+ * Measures loading and saving a text task file through Storage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"TODOS", "DEADLINES", "EVENTS", "MIXED"})
+    private TaskFixtures.TypeMix typeMix;
+
+    @Param({"false", "true"})
+    private boolean hasNotes;
+
+    private Path loadPath;
+    private Path savePath;
+    private Storage loadStorage;
+    private Storage saveStorage;
+    private TaskList tasks;
+
+    /**
+     * Writes the task file to load and prepares the list to save.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        loadPath = Files.createTempFile("zbot-load-", ".txt");
+        savePath = Files.createTempFile("zbot-save-", ".txt");
+        tasks = new TaskList(TaskFixtures.generate(taskCount, typeMix, hasNotes));
+
+        new Storage(loadPath.toString()).save(tasks);
+        loadStorage = new Storage(loadPath.toString());
+        saveStorage = new Storage(savePath.toString());
+    }
+
+    /**
+     * Deletes the task files.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(loadPath);
+        Files.deleteIfExists(savePath);
+    }
+
+    /**
+     * Loads every task from the file.
+     */
+    @Benchmark
+    public ArrayList<Task> load() throws ZBotException {
+        return loadStorage.load();
+    }
+
+    /**
+     * Saves every task, replacing the file.
+     */
+    @Benchmark
+    public void save() {
+        saveStorage.save(tasks);
+    }
+
+}
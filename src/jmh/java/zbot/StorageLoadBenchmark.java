@@ -0,0 +1,116 @@
+package zbot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import zbot.task.Task;
+
+/**
+ * Compares loading a text snapshot with the windowed loader, sequentially and in parallel,
+ * against a Scanner and String.split loader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StorageLoadBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    private Path path;
+
+    /**
+     * Writes a text snapshot with a fixed mix of todos, deadlines, events and notes.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        path = Files.createTempFile("zbot-load-", ".txt");
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < taskCount; i++) {
+            String date = String.format("%02d/%02d/%04d %02d%02d", 1 + random.nextInt(28),
+                    1 + random.nextInt(12), 2000 + random.nextInt(30), random.nextInt(24), random.nextInt(60));
+            int type = random.nextInt(3);
+
+            sb.append(type == 0 ? 'T' : type == 1 ? 'D' : 'E').append('|').append(random.nextInt(2))
+                    .append("|task number ").append(i);
+            if (type >= 1) {
+                sb.append('|').append(date);
+            }
+            if (type == 2) {
+                sb.append('|').append(date);
+            }
+            if (random.nextInt(4) == 0) {
+                sb.append("|note ").append(i);
+            }
+            sb.append('\n');
+        }
+
+        Files.writeString(path, sb);
+    }
+
+    /**
+     * Deletes the snapshot.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Loads the snapshot line by line with Scanner and String.split, as Storage.load() used to.
+     * <p>
+     * Storage.decodeTask now parses well-formed dates without the formatter, so this no
+     * longer measures the original loader, only the cost of scanning and splitting lines.
+     */
+    @Benchmark
+    public ArrayList<Task> scannerSplit() throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        try (Scanner sc = new Scanner(new File(path.toString()))) {
+            while (sc.hasNextLine()) {
+                tasks.add(Storage.decodeTask(sc.nextLine()));
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Loads the snapshot with the windowed loader.
+     */
+    @Benchmark
+    public ArrayList<Task> windowed() throws IOException {
+        return WindowedTaskLoader.load(path);
+    }
+
+    /**
+     * Loads the snapshot with the windowed loader in parallel chunks.
+     */
+    @Benchmark
+    public ArrayList<Task> windowedParallel() throws IOException {
+        return WindowedTaskLoader.load(path, 0);
+    }
+
+}
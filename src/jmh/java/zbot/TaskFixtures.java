@@ -0,0 +1,76 @@
+package zbot;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+
+import zbot.task.Deadline;
+import zbot.task.Event;
+import zbot.task.Task;
+import zbot.task.ToDo;
+
+/**
+ * Generates reproducible task lists for the benchmarks.
+ */
+public class TaskFixtures {
+    /**
+     * Represents the types of tasks in a generated list.
+     */
+    public enum TypeMix {
+        /** Only todos. */
+        TODOS,
+        /** Only deadlines. */
+        DEADLINES,
+        /** Only events. */
+        EVENTS,
+        /** Equal shares of todos, deadlines and events. */
+        MIXED
+    }
+
+    private static final String[] WORDS = {
+        "read", "book", "return", "write", "essay", "project", "meeting", "buy", "milk", "call",
+        "mom", "review", "code", "submit", "report", "plan", "trip", "clean", "room", "pay"
+    };
+    private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    /**
+     * Returns a list of tasks made from the same seed every time.
+     * <p>
+     * Descriptions are three common words followed by the task number, so keyword queries
+     * match many tasks and queries for the number match few. A quarter of the tasks are
+     * done, and dates fall within ten years.
+     *
+     * @param count    Number of tasks.
+     * @param mix      Types of the tasks.
+     * @param hasNotes True if every task should have a note, false if none should.
+     * @return List of tasks.
+     */
+    public static ArrayList<Task> generate(int count, TypeMix mix, boolean hasNotes) {
+        Random random = new Random(42);
+        ArrayList<Task> tasks = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            String note = hasNotes ? "note for task " + i : "";
+            LocalDateTime date = START.plusMinutes(random.nextInt(10 * 365 * 24 * 60));
+            int type = mix == TypeMix.MIXED ? i % 3 : mix.ordinal();
+
+            Task task;
+            if (type == TypeMix.DEADLINES.ordinal()) {
+                task = new Deadline(description, date, note);
+            } else if (type == TypeMix.EVENTS.ordinal()) {
+                task = new Event(description, date, date.plusHours(1 + random.nextInt(48)), note);
+            } else {
+                task = new ToDo(description, note);
+            }
+
+            if (random.nextInt(4) == 0) {
+                task.markAsDone();
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+}
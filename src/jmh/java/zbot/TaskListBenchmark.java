@@ -0,0 +1,88 @@
+package zbot;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import zbot.task.Task;
+import zbot.task.ToDo;
+
+/**
+ * Compares positional access and removal across the task list backings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskListBenchmark {
+    private static final int DELETES = 10_000;
+    private static final int GETS = 100_000;
+
+    @Param({"100000", "1000000"})
+    private int taskCount;
+
+    @Param({"ARRAY", "FENWICK", "CONCURRENT", "COLUMNAR"})
+    private TaskList.Backing backing;
+
+    private TaskList tasks;
+    private int[] randomIndices;
+
+    /**
+     * Creates a fresh list before every iteration, since the removal benchmark shrinks it.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        ArrayList<Task> list = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            list.add(new ToDo("task " + i));
+        }
+        tasks = new TaskList(list, backing);
+
+        Random random = new Random(42);
+        randomIndices = new int[GETS];
+        for (int i = 0; i < GETS; i++) {
+            randomIndices[i] = random.nextInt(taskCount - DELETES);
+        }
+    }
+
+    /**
+     * Removes tasks from the front of the list, the worst case for the array backing.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OperationsPerInvocation(DELETES)
+    public void removeFromFront() {
+        for (int i = 0; i < DELETES; i++) {
+            tasks.remove(0);
+        }
+    }
+
+    /**
+     * Reads tasks at random positions.
+     */
+    @Benchmark
+    @OperationsPerInvocation(GETS)
+    public void getRandom(Blackhole blackhole) {
+        for (int index : randomIndices) {
+            blackhole.consume(tasks.get(index));
+        }
+    }
+
+}
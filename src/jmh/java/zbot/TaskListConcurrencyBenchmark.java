@@ -0,0 +1,97 @@
+package zbot;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import zbot.task.Task;
+import zbot.task.ToDo;
+
+/**
+ * Measures how reads of a whole task list scale while a writer keeps modifying it.
+ * <p>
+ * With the array backing, readers and the writer share the task list monitor. With the
+ * concurrent backing, readers iterate a snapshot without locking. The number of reader
+ * threads can be changed with the {@code -tg 1,N} JMH option.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskListConcurrencyBenchmark {
+    @Param({"10000"})
+    private int taskCount;
+
+    @Param({"ARRAY", "CONCURRENT"})
+    private TaskList.Backing backing;
+
+    private TaskList tasks;
+    private boolean isLockFree;
+
+    /**
+     * Creates the shared task list.
+     */
+    @Setup
+    public void setUp() {
+        ArrayList<Task> list = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            list.add(new ToDo("task " + i));
+        }
+        tasks = new TaskList(list, backing);
+        isLockFree = backing == TaskList.Backing.CONCURRENT;
+    }
+
+    /**
+     * Adds a task to the end and removes one from the front, keeping the size constant.
+     */
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void write() {
+        synchronized (tasks) {
+            tasks.add(new ToDo("task"));
+            tasks.remove(0);
+        }
+    }
+
+    /**
+     * Iterates every task, as listing or saving does.
+     */
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public int read() {
+        if (isLockFree) {
+            return countDone(tasks.snapshot());
+        }
+        synchronized (tasks) {
+            return countDone(tasks);
+        }
+    }
+
+    private static int countDone(TaskList tasks) {
+        int count = 0;
+        for (Task task : tasks) {
+            if (task.getStatus()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,146 @@
+package zbot.ui;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.layout.HBox;
+
+/**
+ * Measures creating dialog boxes for 10,000 messages on the headless JavaFX platform,
+ * by parsing FXML per dialog as before and through {@link DialogBoxFactory}.
+ * <p>
+ * Results are per dialog box.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw"})
+public class DialogBoxBenchmark {
+    private static final int DIALOG_COUNT = 10_000;
+    // Layout of the dialog box when it was loaded from /view/DialogBox.fxml
+    private static final byte[] FXML_LAYOUT = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<?import javafx.geometry.Insets?>\n"
+            + "<?import javafx.scene.control.Label?>\n"
+            + "<?import javafx.scene.image.ImageView?>\n"
+            + "<?import javafx.scene.layout.HBox?>\n"
+            + "<fx:root alignment=\"TOP_RIGHT\" maxHeight=\"1.7976931348623157E308\""
+            + " maxWidth=\"1.7976931348623157E308\" prefWidth=\"400.0\" type=\"javafx.scene.layout.HBox\""
+            + " xmlns=\"http://javafx.com/javafx/17\" xmlns:fx=\"http://javafx.com/fxml/1\">\n"
+            + "  <children>\n"
+            + "    <Label fx:id=\"dialog\" text=\"Label\" wrapText=\"true\" minHeight=\"-Infinity\"/>\n"
+            + "    <ImageView fx:id=\"displayPicture\" fitHeight=\"99.0\" fitWidth=\"99.0\" pickOnBounds=\"true\""
+            + " preserveRatio=\"true\" />\n"
+            + "  </children>\n"
+            + "  <padding>\n"
+            + "    <Insets bottom=\"15.0\" left=\"5.0\" right=\"5.0\" top=\"15.0\" />\n"
+            + "  </padding>\n"
+            + "</fx:root>\n").getBytes(StandardCharsets.UTF_8);
+
+    private Message[] messages = new Message[DIALOG_COUNT];
+    private DialogBoxFactory factory;
+    private DialogBox reusedDialogBox;
+
+    /**
+     * Starts the JavaFX platform and prepares alternating user and ZBot messages.
+     */
+    @Setup
+    public void setUp() {
+        Platform.startup(() -> {
+            // No window is shown
+        });
+        for (int i = 0; i < DIALOG_COUNT; i++) {
+            messages[i] = new Message("message " + i, i % 2 == 0);
+        }
+        runOnFxThread(() -> {
+            Image image = new Image(DialogBoxBenchmark.class.getResourceAsStream("/images/default-avatar.jpg"));
+            factory = new DialogBoxFactory(image, image);
+            reusedDialogBox = factory.create(messages[0]);
+        });
+    }
+
+    /**
+     * Parses the FXML layout for every dialog box, as DialogBox used to.
+     */
+    @Benchmark
+    @OperationsPerInvocation(DIALOG_COUNT)
+    public void createFromFxml(Blackhole blackhole) {
+        runOnFxThread(() -> {
+            for (Message message : messages) {
+                try {
+                    FXMLLoader fxmlLoader = new FXMLLoader();
+                    fxmlLoader.setRoot(new HBox());
+                    HBox dialogBox = fxmlLoader.load(new ByteArrayInputStream(FXML_LAYOUT));
+                    ((Label) fxmlLoader.getNamespace().get("dialog")).setText(message.getText());
+                    blackhole.consume(dialogBox);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Builds every dialog box in code through the factory.
+     */
+    @Benchmark
+    @OperationsPerInvocation(DIALOG_COUNT)
+    public void createFromFactory(Blackhole blackhole) {
+        runOnFxThread(() -> {
+            for (Message message : messages) {
+                blackhole.consume(factory.create(message));
+            }
+        });
+    }
+
+    /**
+     * Shows every message in the same dialog box, as list cells do while scrolling.
+     */
+    @Benchmark
+    @OperationsPerInvocation(DIALOG_COUNT)
+    public void updateReused(Blackhole blackhole) {
+        runOnFxThread(() -> {
+            for (Message message : messages) {
+                factory.update(reusedDialogBox, message);
+            }
+            blackhole.consume(reusedDialogBox);
+        });
+    }
+
+    /**
+     * Runs the task on the JavaFX application thread and waits for it to finish.
+     */
+    private static void runOnFxThread(Runnable task) {
+        FutureTask<Void> futureTask = new FutureTask<>(task, null);
+        Platform.runLater(futureTask);
+        try {
+            futureTask.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package zbot;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+
+import zbot.index.SortedIntList;
+import zbot.task.Task;
+
+/**
+ * Represents a sequence of tasks backed by an array list.
+ * <p>
+ * Positional access takes constant time, while removal shifts every later task.
+ */
+class ArrayTaskSequence implements TaskSequence {
+    private ArrayList<Task> list;
+    private SortedIntList handles = new SortedIntList();
+    private int nextHandle;
+
+    /**
+     * Constructor for ArrayTaskSequence.
+     *
+     * @param list List of tasks to take ownership of.
+     */
+    ArrayTaskSequence(ArrayList<Task> list) {
+        this.list = list;
+        for (int i = 0; i < list.size(); i++) {
+            handles.append(nextHandle++);
+        }
+    }
+
+    /**
+     * Constructor for ArrayTaskSequence with the tasks and handles of another sequence.
+     *
+     * @param other Sequence to copy.
+     */
+    ArrayTaskSequence(TaskSequence other) {
+        this.list = new ArrayList<>(other.size());
+        for (int i = 0; i < other.size(); i++) {
+            list.add(other.get(i));
+            handles.append(other.handleAt(i));
+        }
+        nextHandle = handles.isEmpty() ? 0 : handles.last() + 1;
+    }
+
+    @Override
+    public int add(Task task) {
+        int handle = nextHandle++;
+        handles.append(handle);
+        list.add(task);
+        return handle;
+    }
+
+    @Override
+    public Task get(int index) {
+        return list.get(index);
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task task = list.remove(index);
+        handles.removeAt(index);
+        return task;
+    }
+
+    @Override
+    public void removeAll(int[] indices) {
+        if (indices.length == 0) {
+            return;
+        }
+
+        // Move the remaining tasks forward in one pass instead of shifting once per removal
+        int write = indices[0];
+        int next = 0;
+        for (int read = indices[0]; read < list.size(); read++) {
+            if (next < indices.length && indices[next] == read) {
+                next++;
+            } else {
+                list.set(write++, list.get(read));
+            }
+        }
+        list.subList(write, list.size()).clear();
+        handles.removeAllAt(indices);
+    }
+
+    @Override
+    public int handleAt(int index) {
+        return handles.get(index);
+    }
+
+    @Override
+    public int indexOf(int handle) {
+        return handles.indexOf(handle);
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public boolean compactIfSparse() {
+        return false;
+    }
+
+    @Override
+    public TaskSequence snapshot() {
+        return new ArrayTaskSequence(this);
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return list.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return list.toString();
+    }
+
+}
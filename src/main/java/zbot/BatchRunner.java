@@ -0,0 +1,72 @@
+package zbot;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs commands from a script or standard input without the graphical interface.
+ * <p>
+ * Usage: {@code BatchRunner [--checkpoint N] [--data FILE] [SCRIPT]}
+ * <p>
+ * Commands are read one per line and each response is written to standard output as it
+ * is produced. Tasks are saved after every N commands that change them, and once more at
+ * the end. The number of commands processed per second is reported on standard error.
+ */
+public class BatchRunner {
+    private static final int DEFAULT_CHECKPOINT_INTERVAL = 10_000;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String USAGE = "Usage: BatchRunner [--checkpoint N] [--data FILE] [SCRIPT]";
+
+    public static void main(String[] args) {
+        int checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+        String dataPath = ZBot.DEFAULT_FILE_PATH;
+        String scriptPath = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--checkpoint") && i + 1 < args.length) {
+                    checkpointInterval = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("--data") && i + 1 < args.length) {
+                    dataPath = args[++i];
+                } else if (scriptPath == null && !args[i].startsWith("--")) {
+                    scriptPath = args[i];
+                } else {
+                    System.out.println(USAGE);
+                    return;
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        if (checkpointInterval <= 0) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        ZBot zbot = new ZBot(dataPath, true);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        try (BufferedReader reader = scriptPath == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), BUFFER_SIZE)
+                : Files.newBufferedReader(Path.of(scriptPath), StandardCharsets.UTF_8)) {
+            long start = System.nanoTime();
+            long commandCount = zbot.runBatch(reader, writer, checkpointInterval);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.err.printf("Processed %d commands in %.3f s (%.0f commands/s)%n",
+                    commandCount, seconds, commandCount / Math.max(seconds, 1e-9));
+        } catch (IOException e) {
+            System.out.println("I/O error occurred.");
+            e.printStackTrace();
+        }
+    }
+
+}
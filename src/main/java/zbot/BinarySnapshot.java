@@ -0,0 +1,315 @@
+package zbot;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+
+import zbot.task.Deadline;
+import zbot.task.Event;
+import zbot.task.Task;
+import zbot.task.ToDo;
+
+/**
+ * Represents the compact binary snapshot format for tasks.
+ * <p>
+ * The file starts with a magic header and a version byte, followed by the number of
+ * tasks. Each task is stored as follows:
+ * [type byte][flags byte][description][task-specific dates][note]
+ * <p>
+ * Bit 0 of the flags is set if the task is done and bit 1 is set if the task has a note.
+ * Strings are stored as a length-prefixed run of UTF-8 bytes and dates as UTC
+ * epoch-seconds.
+ */
+class BinarySnapshot {
+    private static final byte[] MAGIC = {'Z', 'B', 'S', 0};
+    private static final byte VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte FLAG_DONE = 1;
+    private static final byte FLAG_NOTE = 1 << 1;
+
+    /**
+     * Returns true if the file at the given path starts with the binary snapshot header.
+     *
+     * @param path Path of the file.
+     * @return True if the file is a binary snapshot, false otherwise.
+     * @throws IOException If the file exists but cannot be read.
+     */
+    static boolean isBinary(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return false;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(MAGIC.length);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the header is full or the file ends
+            }
+
+            if (header.hasRemaining()) {
+                return false;
+            }
+
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (header.get(i) != MAGIC[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Writes tasks to the file at the given path, replacing its content.
+     *
+     * @param path  Path of the file.
+     * @param tasks Tasks to write.
+     * @throws IOException If the file cannot be written to.
+     */
+    static void write(Path path, TaskList tasks) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer writer = new Writer(channel);
+            writer.putBytes(MAGIC);
+            writer.putByte(VERSION);
+            writer.putInt(tasks.size());
+
+            for (Task task : tasks) {
+                writer.putTask(task);
+            }
+
+            writer.flush();
+        }
+    }
+
+    /**
+     * Reads tasks from the file at the given path.
+     *
+     * @param path Path of the file.
+     * @return ArrayList of tasks read from the file.
+     * @throws IOException If the file cannot be read or is not a valid binary snapshot.
+     */
+    static ArrayList<Task> read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Reader reader = new Reader(channel);
+
+            for (byte b : MAGIC) {
+                if (reader.getByte() != b) {
+                    throw new IOException("Not a binary snapshot: " + path);
+                }
+            }
+
+            byte version = reader.getByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary snapshot version: " + version);
+            }
+
+            int taskCount = reader.getInt();
+            if (taskCount < 0 || taskCount > channel.size()) {
+                throw new IOException("Invalid task count in binary snapshot: " + taskCount);
+            }
+
+            ArrayList<Task> tasks = new ArrayList<>(taskCount);
+            for (int i = 0; i < taskCount; i++) {
+                tasks.add(reader.getTask());
+            }
+            return tasks;
+        }
+    }
+
+    /**
+     * Represents a buffered writer of snapshot fields to a file channel.
+     */
+    private static class Writer {
+        private FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putTask(Task task) throws IOException {
+            byte flags = 0;
+            if (task.getStatus()) {
+                flags |= FLAG_DONE;
+            }
+            if (!task.getNote().isEmpty()) {
+                flags |= FLAG_NOTE;
+            }
+
+            if (task instanceof ToDo) {
+                putByte((byte) 'T');
+                putByte(flags);
+                putString(task.getDescription());
+            } else if (task instanceof Deadline) {
+                putByte((byte) 'D');
+                putByte(flags);
+                putString(task.getDescription());
+                putDateTime(((Deadline) task).getDueDate());
+            } else if (task instanceof Event) {
+                putByte((byte) 'E');
+                putByte(flags);
+                putString(task.getDescription());
+                putDateTime(((Event) task).getStartDate());
+                putDateTime(((Event) task).getEndDate());
+            } else {
+                assert false : "Unknown task type: " + task.getClass();
+            }
+
+            if ((flags & FLAG_NOTE) != 0) {
+                putString(task.getNote().getContent());
+            }
+        }
+
+        void putByte(byte b) throws IOException {
+            ensureRemaining(Byte.BYTES);
+            buffer.put(b);
+        }
+
+        void putInt(int i) throws IOException {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(i);
+        }
+
+        void putDateTime(LocalDateTime dateTime) throws IOException {
+            ensureRemaining(Long.BYTES);
+            buffer.putLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+        }
+
+        void putString(String s) throws IOException {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            putBytes(bytes);
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensureRemaining(1);
+                int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void ensureRemaining(int length) throws IOException {
+            if (buffer.remaining() < length) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Represents a buffered reader of snapshot fields from a file channel.
+     */
+    private static class Reader {
+        private FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+
+        Reader(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        Task getTask() throws IOException {
+            byte type = getByte();
+            byte flags = getByte();
+            String description = getString();
+            Task task;
+
+            if (type == 'T') {
+                task = new ToDo(description);
+            } else if (type == 'D') {
+                task = new Deadline(description, getDateTime());
+            } else if (type == 'E') {
+                LocalDateTime startDate = getDateTime();
+                task = new Event(description, startDate, getDateTime());
+            } else {
+                throw new IOException("Unknown task type in binary snapshot: " + type);
+            }
+
+            if ((flags & FLAG_NOTE) != 0) {
+                task.addNote(getString());
+            }
+            if ((flags & FLAG_DONE) != 0) {
+                task.markAsDone();
+            }
+            return task;
+        }
+
+        byte getByte() throws IOException {
+            ensureAvailable(Byte.BYTES);
+            return buffer.get();
+        }
+
+        int getInt() throws IOException {
+            ensureAvailable(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        LocalDateTime getDateTime() throws IOException {
+            ensureAvailable(Long.BYTES);
+            long epochSecond = buffer.getLong();
+            try {
+                return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+            } catch (DateTimeException e) {
+                throw new IOException("Invalid datetime in binary snapshot: " + epochSecond, e);
+            }
+        }
+
+        String getString() throws IOException {
+            int length = getInt();
+            if (length < 0 || length > channel.size()) {
+                throw new IOException("Invalid string length in binary snapshot: " + length);
+            }
+
+            if (length <= buffer.capacity()) {
+                ensureAvailable(length);
+                String s = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                        StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+                return s;
+            }
+
+            byte[] bytes = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                ensureAvailable(1);
+                int chunk = Math.min(buffer.remaining(), length - offset);
+                buffer.get(bytes, offset, chunk);
+                offset += chunk;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private void ensureAvailable(int length) throws IOException {
+            if (buffer.remaining() >= length) {
+                return;
+            }
+
+            buffer.compact();
+            while (buffer.position() < length) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Binary snapshot ends unexpectedly.");
+                }
+            }
+            buffer.flip();
+        }
+    }
+
+}
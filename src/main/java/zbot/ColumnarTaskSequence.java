@@ -0,0 +1,289 @@
+package zbot;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import zbot.index.SortedIntList;
+import zbot.task.Deadline;
+import zbot.task.Event;
+import zbot.task.Task;
+import zbot.task.ToDo;
+
+/**
+ * Represents a sequence of tasks stored column by column in primitive arrays.
+ * <p>
+ * Types are kept in a byte column, statuses in a bit set and dates as UTC epoch-seconds
+ * in two long columns, holding the due date of a deadline or the start and end dates of
+ * an event. Descriptions and notes are ids into a shared {@link StringPool}.
+ * <p>
+ * Tasks returned by this sequence are views created on demand. Changing a view does not
+ * change the sequence, so statuses and notes must be changed through
+ * {@link #setDone(int, boolean)} and {@link #setNote(int, String)}. As each call creates a
+ * new view, the rendered line a task caches is not kept between calls; keeping lines here
+ * would cost the heap this backing exists to save.
+ */
+class ColumnarTaskSequence implements TaskSequence {
+    private static final byte TODO = 'T';
+    private static final byte DEADLINE = 'D';
+    private static final byte EVENT = 'E';
+    private static final int NO_NOTE = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private byte[] types;
+    private BitSet done = new BitSet();
+    private long[] firstDates;
+    private long[] secondDates;
+    private int[] descriptions;
+    private int[] notes;
+    private SortedIntList handles = new SortedIntList();
+    private StringPool strings;
+    private int size;
+    private int nextHandle;
+
+    /**
+     * Constructor for ColumnarTaskSequence.
+     *
+     * @param list List of tasks to start with.
+     */
+    ColumnarTaskSequence(List<Task> list) {
+        int capacity = Math.max(list.size(), INITIAL_CAPACITY);
+        this.types = new byte[capacity];
+        this.firstDates = new long[capacity];
+        this.secondDates = new long[capacity];
+        this.descriptions = new int[capacity];
+        this.notes = new int[capacity];
+        this.strings = new StringPool(capacity);
+
+        for (Task task : list) {
+            add(task);
+        }
+    }
+
+    /**
+     * Constructor for ColumnarTaskSequence.
+     *
+     * Creates a copy of the given sequence.
+     *
+     * @param other Sequence to copy.
+     */
+    private ColumnarTaskSequence(ColumnarTaskSequence other) {
+        int capacity = Math.max(other.size, INITIAL_CAPACITY);
+        this.types = Arrays.copyOf(other.types, capacity);
+        this.done = (BitSet) other.done.clone();
+        this.firstDates = Arrays.copyOf(other.firstDates, capacity);
+        this.secondDates = Arrays.copyOf(other.secondDates, capacity);
+        this.descriptions = Arrays.copyOf(other.descriptions, capacity);
+        this.notes = Arrays.copyOf(other.notes, capacity);
+        this.strings = new StringPool(other.strings);
+        this.size = other.size;
+        this.nextHandle = other.nextHandle;
+
+        for (int i = 0; i < other.size; i++) {
+            handles.append(other.handles.get(i));
+        }
+    }
+
+    @Override
+    public int add(Task task) {
+        if (size == types.length) {
+            grow();
+        }
+
+        if (task instanceof Deadline) {
+            types[size] = DEADLINE;
+            firstDates[size] = toEpochSecond(((Deadline) task).getDueDate());
+        } else if (task instanceof Event) {
+            types[size] = EVENT;
+            firstDates[size] = toEpochSecond(((Event) task).getStartDate());
+            secondDates[size] = toEpochSecond(((Event) task).getEndDate());
+        } else {
+            assert task instanceof ToDo : "Unknown task type: " + task.getClass();
+            types[size] = TODO;
+        }
+
+        done.set(size, task.getStatus());
+        descriptions[size] = strings.add(task.getDescription());
+        notes[size] = task.getNote().isEmpty() ? NO_NOTE : strings.add(task.getNote().getContent());
+
+        int handle = nextHandle++;
+        handles.append(handle);
+        size++;
+        return handle;
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+
+        String description = strings.get(descriptions[index]);
+        String note = notes[index] == NO_NOTE ? "" : strings.get(notes[index]);
+        Task task;
+        if (types[index] == DEADLINE) {
+            task = new Deadline(description, toDateTime(firstDates[index]), note);
+        } else if (types[index] == EVENT) {
+            task = new Event(description, toDateTime(firstDates[index]), toDateTime(secondDates[index]), note);
+        } else {
+            task = new ToDo(description, note);
+        }
+
+        if (done.get(index)) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task task = get(index);
+        strings.remove(descriptions[index]);
+        if (notes[index] != NO_NOTE) {
+            strings.remove(notes[index]);
+        }
+
+        int moved = size - index - 1;
+        System.arraycopy(types, index + 1, types, index, moved);
+        System.arraycopy(firstDates, index + 1, firstDates, index, moved);
+        System.arraycopy(secondDates, index + 1, secondDates, index, moved);
+        System.arraycopy(descriptions, index + 1, descriptions, index, moved);
+        System.arraycopy(notes, index + 1, notes, index, moved);
+
+        BitSet later = done.get(index + 1, size);
+        done.clear(index, size);
+        for (int i = later.nextSetBit(0); i >= 0; i = later.nextSetBit(i + 1)) {
+            done.set(index + i);
+        }
+
+        handles.removeAt(index);
+        size--;
+        return task;
+    }
+
+    @Override
+    public void removeAll(int[] indices) {
+        if (indices.length == 0) {
+            return;
+        }
+
+        BitSet remainingDone = done.get(0, indices[0]);
+        int write = indices[0];
+        int next = 0;
+        for (int read = indices[0]; read < size; read++) {
+            if (next < indices.length && indices[next] == read) {
+                strings.remove(descriptions[read]);
+                if (notes[read] != NO_NOTE) {
+                    strings.remove(notes[read]);
+                }
+                next++;
+                continue;
+            }
+
+            types[write] = types[read];
+            firstDates[write] = firstDates[read];
+            secondDates[write] = secondDates[read];
+            descriptions[write] = descriptions[read];
+            notes[write] = notes[read];
+            remainingDone.set(write, done.get(read));
+            write++;
+        }
+
+        done = remainingDone;
+        handles.removeAllAt(indices);
+        size = write;
+    }
+
+    @Override
+    public void setDone(int index, boolean isDone) {
+        Objects.checkIndex(index, size);
+        done.set(index, isDone);
+    }
+
+    @Override
+    public void setNote(int index, String content) {
+        Objects.checkIndex(index, size);
+        if (notes[index] != NO_NOTE) {
+            strings.remove(notes[index]);
+        }
+        notes[index] = content.isEmpty() ? NO_NOTE : strings.add(content);
+    }
+
+    @Override
+    public int handleAt(int index) {
+        return handles.get(index);
+    }
+
+    @Override
+    public int indexOf(int handle) {
+        return handles.indexOf(handle);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean compactIfSparse() {
+        return false;
+    }
+
+    @Override
+    public TaskSequence snapshot() {
+        return new ColumnarTaskSequence(this);
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(get(i));
+        }
+        return sb.append("]").toString();
+    }
+
+    private void grow() {
+        int capacity = types.length * 2;
+        types = Arrays.copyOf(types, capacity);
+        firstDates = Arrays.copyOf(firstDates, capacity);
+        secondDates = Arrays.copyOf(secondDates, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        notes = Arrays.copyOf(notes, capacity);
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+}
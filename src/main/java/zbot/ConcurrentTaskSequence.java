@@ -0,0 +1,405 @@
+package zbot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import zbot.task.Task;
+
+/**
+ * Represents a sequence of tasks that can be read while it is being modified.
+ * <p>
+ * Tasks are kept in chunks inside an immutable version of the sequence. Writers hold a
+ * lock, copy only the chunk they change along with the chunk directory, and publish a
+ * new version. Readers use whichever version is current without locking, so iterating
+ * a snapshot never blocks writers and never sees a partial change.
+ * <p>
+ * Appends are the exception, as they take amortized constant time. The last chunk and the
+ * chunk directory have spare room. An append writes past the end that the current version
+ * publishes and then publishes a new version with a larger size. Older versions share
+ * those arrays but never read past their own size.
+ */
+class ConcurrentTaskSequence implements TaskSequence {
+    private static final int CHUNK_SIZE = 512;
+
+    private ReentrantLock writeLock = new ReentrantLock();
+    private volatile Version version;
+    private int nextHandle;
+
+    /**
+     * Constructor for ConcurrentTaskSequence.
+     *
+     * @param list List of tasks to start with.
+     */
+    ConcurrentTaskSequence(ArrayList<Task> list) {
+        int chunkCount = (list.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        Task[][] chunks = new Task[chunkCount][];
+        int[][] handles = new int[chunkCount][];
+
+        for (int c = 0; c < chunkCount; c++) {
+            int from = c * CHUNK_SIZE;
+            int to = Math.min(from + CHUNK_SIZE, list.size());
+            chunks[c] = list.subList(from, to).toArray(new Task[0]);
+            handles[c] = new int[to - from];
+            for (int i = 0; i < handles[c].length; i++) {
+                handles[c][i] = nextHandle++;
+            }
+        }
+
+        version = new Version(chunks, handles, list.size());
+    }
+
+    @Override
+    public int add(Task task) {
+        writeLock.lock();
+        try {
+            Version current = version;
+            Task[][] chunks = current.chunks;
+            int[][] handles = current.handles;
+            int[] chunkStarts = current.chunkStarts;
+            int chunkCount = current.chunkCount;
+            int last = chunkCount - 1;
+            int handle = nextHandle++;
+
+            if (last < 0 || current.chunkLength(last) == CHUNK_SIZE) {
+                if (chunkCount == chunks.length) {
+                    int capacity = Math.max(1, chunkCount * 2);
+                    chunks = Arrays.copyOf(chunks, capacity);
+                    handles = Arrays.copyOf(handles, capacity);
+                    chunkStarts = Arrays.copyOf(chunkStarts, capacity);
+                }
+
+                // Slots past the chunk count of the current version are unused by every version
+                chunks[chunkCount] = new Task[CHUNK_SIZE];
+                handles[chunkCount] = new int[CHUNK_SIZE];
+                chunkStarts[chunkCount] = current.size;
+                last = chunkCount++;
+            } else if (chunks[last].length == current.chunkLength(last)) {
+                // Older versions may read this chunk, so give it spare room in a new directory
+                chunks = Arrays.copyOf(chunks, chunks.length);
+                handles = Arrays.copyOf(handles, handles.length);
+                chunks[last] = Arrays.copyOf(chunks[last], CHUNK_SIZE);
+                handles[last] = Arrays.copyOf(handles[last], CHUNK_SIZE);
+            }
+
+            int offset = current.size - chunkStarts[last];
+            chunks[last][offset] = task;
+            handles[last][offset] = handle;
+            version = new Version(chunks, handles, chunkStarts, chunkCount, current.size + 1);
+            return handle;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Task remove(int index) {
+        writeLock.lock();
+        try {
+            Version current = version;
+            int c = current.findChunk(index);
+            int offset = index - current.chunkStarts[c];
+            int length = current.chunkLength(c);
+            int chunkCount = current.chunkCount;
+            Task task = current.chunks[c][offset];
+
+            Task[] chunk = removeAt(current.chunks[c], length, offset);
+            int[] chunkHandles = removeAt(current.handles[c], length, offset);
+            Task[][] chunks;
+            int[][] handles;
+
+            if (chunk.length == 0) {
+                chunks = removeAt(current.chunks, chunkCount, c);
+                handles = removeAt(current.handles, chunkCount, c);
+            } else if (c + 1 < chunkCount && chunk.length + current.chunkLength(c + 1) <= CHUNK_SIZE / 2) {
+                // Merge small neighbours so mass removals do not leave many tiny chunks
+                chunks = removeAt(current.chunks, chunkCount, c + 1);
+                handles = removeAt(current.handles, chunkCount, c + 1);
+                chunks[c] = concat(chunk, current.chunks[c + 1], current.chunkLength(c + 1));
+                handles[c] = concat(chunkHandles, current.handles[c + 1], current.chunkLength(c + 1));
+            } else {
+                chunks = Arrays.copyOf(current.chunks, chunkCount);
+                handles = Arrays.copyOf(current.handles, chunkCount);
+                chunks[c] = chunk;
+                handles[c] = chunkHandles;
+            }
+
+            version = new Version(chunks, handles, current.size - 1);
+            return task;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void removeAll(int[] indices) {
+        writeLock.lock();
+        try {
+            Version current = version;
+            int newSize = current.size() - indices.length;
+            int chunkCount = (newSize + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            Task[][] chunks = new Task[chunkCount][];
+            int[][] handles = new int[chunkCount][];
+
+            // Rebuild every chunk in one pass and publish the result as a single version
+            int c = -1;
+            int offset = CHUNK_SIZE;
+            int index = 0;
+            int next = 0;
+            for (int source = 0; source < current.chunkCount; source++) {
+                for (int i = 0; i < current.chunkLength(source); i++, index++) {
+                    if (next < indices.length && indices[next] == index) {
+                        next++;
+                        continue;
+                    }
+
+                    if (offset == CHUNK_SIZE) {
+                        c++;
+                        int length = Math.min(CHUNK_SIZE, newSize - c * CHUNK_SIZE);
+                        chunks[c] = new Task[length];
+                        handles[c] = new int[length];
+                        offset = 0;
+                    }
+                    chunks[c][offset] = current.chunks[source][i];
+                    handles[c][offset] = current.handles[source][i];
+                    offset++;
+                }
+            }
+
+            version = new Version(chunks, handles, newSize);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Task get(int index) {
+        return version.get(index);
+    }
+
+    @Override
+    public int handleAt(int index) {
+        return version.handleAt(index);
+    }
+
+    @Override
+    public int indexOf(int handle) {
+        return version.indexOf(handle);
+    }
+
+    @Override
+    public int size() {
+        return version.size();
+    }
+
+    @Override
+    public boolean compactIfSparse() {
+        return false;
+    }
+
+    @Override
+    public TaskSequence snapshot() {
+        return version;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return version.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return version.toString();
+    }
+
+    private static <T> T[] removeAt(T[] array, int length, int index) {
+        T[] result = Arrays.copyOf(array, length - 1);
+        System.arraycopy(array, index + 1, result, index, length - index - 1);
+        return result;
+    }
+
+    private static int[] removeAt(int[] array, int length, int index) {
+        int[] result = Arrays.copyOf(array, length - 1);
+        System.arraycopy(array, index + 1, result, index, length - index - 1);
+        return result;
+    }
+
+    private static Task[] concat(Task[] first, Task[] second, int secondLength) {
+        Task[] result = Arrays.copyOf(first, first.length + secondLength);
+        System.arraycopy(second, 0, result, first.length, secondLength);
+        return result;
+    }
+
+    private static int[] concat(int[] first, int[] second, int secondLength) {
+        int[] result = Arrays.copyOf(first, first.length + secondLength);
+        System.arraycopy(second, 0, result, first.length, secondLength);
+        return result;
+    }
+
+    /**
+     * Represents an immutable version of the sequence.
+     * <p>
+     * A version can be read from any thread and serves as a read-only snapshot. It only
+     * reads the first chunk count entries of its arrays and the first size tasks, so later
+     * versions may share the arrays and append past them.
+     */
+    private static class Version implements TaskSequence {
+        private final Task[][] chunks;
+        private final int[][] handles;
+        private final int[] chunkStarts;
+        private final int chunkCount;
+        private final int size;
+
+        /**
+         * Constructor for a Version whose chunks, except possibly the last, are full arrays.
+         *
+         * @param chunks  Chunk directory with one entry per chunk.
+         * @param handles Handles of the tasks in each chunk.
+         * @param size    Number of tasks.
+         */
+        Version(Task[][] chunks, int[][] handles, int size) {
+            this.chunks = chunks;
+            this.handles = handles;
+            this.chunkCount = chunks.length;
+            this.size = size;
+            this.chunkStarts = new int[chunks.length];
+            for (int c = 1; c < chunks.length; c++) {
+                chunkStarts[c] = chunkStarts[c - 1] + chunks[c - 1].length;
+            }
+        }
+
+        /**
+         * Constructor for a Version that shares the arrays of the previous one.
+         *
+         * @param chunks      Chunk directory, possibly with unused entries at the end.
+         * @param handles     Handles of the tasks in each chunk.
+         * @param chunkStarts Index of the first task of each chunk.
+         * @param chunkCount  Number of chunks in use.
+         * @param size        Number of tasks.
+         */
+        Version(Task[][] chunks, int[][] handles, int[] chunkStarts, int chunkCount, int size) {
+            this.chunks = chunks;
+            this.handles = handles;
+            this.chunkStarts = chunkStarts;
+            this.chunkCount = chunkCount;
+            this.size = size;
+        }
+
+        /**
+         * Returns the number of tasks in the given chunk.
+         */
+        int chunkLength(int c) {
+            return (c + 1 < chunkCount ? chunkStarts[c + 1] : size) - chunkStarts[c];
+        }
+
+        /**
+         * Returns the chunk holding the task at the specified index.
+         */
+        int findChunk(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            }
+
+            int c = Arrays.binarySearch(chunkStarts, 0, chunkCount, index);
+            return c >= 0 ? c : -c - 2;
+        }
+
+        @Override
+        public Task get(int index) {
+            int c = findChunk(index);
+            return chunks[c][index - chunkStarts[c]];
+        }
+
+        @Override
+        public int handleAt(int index) {
+            int c = findChunk(index);
+            return handles[c][index - chunkStarts[c]];
+        }
+
+        @Override
+        public int indexOf(int handle) {
+            // Find the last chunk whose first handle is not after the given handle
+            int low = 0;
+            int high = chunkCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (handles[mid][0] <= handle) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+
+            if (high < 0) {
+                return -1;
+            }
+            int offset = Arrays.binarySearch(handles[high], 0, chunkLength(high), handle);
+            return offset >= 0 ? chunkStarts[high] + offset : -1;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int add(Task task) {
+            throw new UnsupportedOperationException("Snapshots cannot be modified.");
+        }
+
+        @Override
+        public Task remove(int index) {
+            throw new UnsupportedOperationException("Snapshots cannot be modified.");
+        }
+
+        @Override
+        public boolean compactIfSparse() {
+            return false;
+        }
+
+        @Override
+        public TaskSequence snapshot() {
+            return this;
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return new Iterator<>() {
+                private int c;
+                private int offset;
+
+                @Override
+                public boolean hasNext() {
+                    while (c < chunkCount && offset == chunkLength(c)) {
+                        c++;
+                        offset = 0;
+                    }
+                    return c < chunkCount;
+                }
+
+                @Override
+                public Task next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return chunks[c][offset++];
+                }
+            };
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("[");
+            for (Task task : this) {
+                if (sb.length() > 1) {
+                    sb.append(", ");
+                }
+                sb.append(task);
+            }
+            return sb.append("]").toString();
+        }
+    }
+
+}
@@ -0,0 +1,209 @@
+package zbot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import zbot.task.Task;
+
+/**
+ * Represents a sequence of tasks that removes tasks by leaving tombstones behind.
+ * <p>
+ * Tasks are kept in slots in the order they were added, and the slot number is the
+ * handle of the task. A Fenwick tree over the live slots turns an index into a slot and
+ * back in O(log n), so positional access and removal take O(log n) time and never shift
+ * other tasks. The slots are compacted once most of them hold tombstones.
+ */
+class FenwickTaskSequence implements TaskSequence {
+    private static final int MIN_CAPACITY = 16;
+    private static final int MIN_COMPACTION_SLOTS = 1024;
+
+    private Task[] slots;
+    private int[] tree;
+    private int slotCount;
+    private int size;
+
+    /**
+     * Constructor for FenwickTaskSequence.
+     *
+     * @param list List of tasks to start with.
+     */
+    FenwickTaskSequence(ArrayList<Task> list) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < list.size()) {
+            capacity *= 2;
+        }
+
+        slots = list.toArray(new Task[capacity]);
+        slotCount = list.size();
+        size = list.size();
+        rebuildTree();
+    }
+
+    @Override
+    public int add(Task task) {
+        if (slotCount == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+            rebuildTree();
+        }
+
+        int slot = slotCount++;
+        slots[slot] = task;
+        updateTree(slot, 1);
+        size++;
+        return slot;
+    }
+
+    @Override
+    public Task get(int index) {
+        return slots[findSlot(index)];
+    }
+
+    @Override
+    public Task remove(int index) {
+        int slot = findSlot(index);
+        Task task = slots[slot];
+        slots[slot] = null;
+        updateTree(slot, -1);
+        size--;
+        return task;
+    }
+
+    @Override
+    public int handleAt(int index) {
+        return findSlot(index);
+    }
+
+    @Override
+    public int indexOf(int handle) {
+        if (handle < 0 || handle >= slotCount || slots[handle] == null) {
+            return -1;
+        }
+        return countLiveSlotsUpTo(handle) - 1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean compactIfSparse() {
+        if (slotCount < MIN_COMPACTION_SLOTS || slotCount - size <= size) {
+            return false;
+        }
+
+        int live = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (slots[slot] != null) {
+                slots[live++] = slots[slot];
+            }
+        }
+        Arrays.fill(slots, live, slotCount, null);
+        slotCount = live;
+        rebuildTree();
+        return true;
+    }
+
+    /**
+     * Returns the slot holding the task at the specified index.
+     */
+    private int findSlot(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+
+        // Walk down the implicit tree to the last position with fewer than index + 1 live slots
+        int position = 0;
+        int remaining = index + 1;
+        for (int step = Integer.highestOneBit(slots.length); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= slots.length && tree[next] < remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Returns the number of live slots from the first slot to the given slot, inclusive.
+     */
+    private int countLiveSlotsUpTo(int slot) {
+        int count = 0;
+        for (int i = slot + 1; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    private void updateTree(int slot, int delta) {
+        for (int i = slot + 1; i <= slots.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Rebuilds the Fenwick tree from the slots in linear time.
+     */
+    private void rebuildTree() {
+        tree = new int[slots.length + 1];
+        for (int i = 1; i <= slots.length; i++) {
+            if (slots[i - 1] != null) {
+                tree[i]++;
+            }
+            int parent = i + (i & -i);
+            if (parent <= slots.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    @Override
+    public TaskSequence snapshot() {
+        return new ArrayTaskSequence(this);
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private int slot = nextLiveSlot(0);
+
+            @Override
+            public boolean hasNext() {
+                return slot < slotCount;
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Task task = slots[slot];
+                slot = nextLiveSlot(slot + 1);
+                return task;
+            }
+        };
+    }
+
+    private int nextLiveSlot(int slot) {
+        while (slot < slotCount && slots[slot] == null) {
+            slot++;
+        }
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (Task task : this) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(task);
+        }
+        return sb.append("]").toString();
+    }
+
+}
@@ -0,0 +1,230 @@
+package zbot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import zbot.task.Task;
+
+/**
+ * Represents an append-only log of task list mutations kept next to the snapshot file.
+ * <p>
+ * Each record takes up one line in the following format:
+ * [record type]|[task indices or encoded task]|[note content]
+ * <p>
+ * Task indices are 0-based and written as a comma-separated list of indices and
+ * inclusive ranges, such as {@code 3}, {@code 0-499} or {@code 3,8,10-12}. The indices of
+ * a deletion refer to positions before any of the tasks are removed.
+ * <p>
+ * Records are replayed in order on top of the snapshot when tasks are loaded.
+ */
+class Journal {
+    static final String ADD = "ADD";
+    static final String MARK = "MARK";
+    static final String UNMARK = "UNMARK";
+    static final String DELETE = "DELETE";
+    static final String NOTE = "NOTE";
+
+    private Path path;
+    private long size;
+
+    /**
+     * Constructor for Journal.
+     *
+     * @param filePath Path of the journal file.
+     */
+    Journal(String filePath) {
+        this.path = Path.of(filePath);
+        this.size = new File(filePath).length();
+    }
+
+    /**
+     * Returns the number of bytes currently in the journal.
+     *
+     * @return Size of the journal in bytes.
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Appends a record to the end of the journal.
+     *
+     * @param record Record to append, without the trailing line break.
+     * @throws IOException If the journal cannot be written to.
+     */
+    void append(String record) throws IOException {
+        append(List.of(record));
+    }
+
+    /**
+     * Appends records to the end of the journal in a single write.
+     *
+     * @param records Records to append, without the trailing line breaks.
+     * @throws IOException If the journal cannot be written to.
+     */
+    void append(List<String> records) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (String record : records) {
+            sb.append(record).append("\n");
+        }
+
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        Files.write(path, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        size += bytes.length;
+    }
+
+    /**
+     * Removes all records from the journal and forces the truncation to disk.
+     *
+     * @throws IOException If the journal cannot be truncated.
+     */
+    void clear() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.force(true);
+        }
+        size = 0;
+    }
+
+    /**
+     * Replays the records in the journal on top of the given tasks.
+     * <p>
+     * A trailing record without a line break is the result of an interrupted write and is ignored.
+     *
+     * @param tasks Tasks loaded from the snapshot.
+     * @throws IOException If the journal cannot be read.
+     */
+    void replay(ArrayList<Task> tasks) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        String content = Files.readString(path, StandardCharsets.UTF_8);
+        int start = 0;
+        int end = content.indexOf('\n');
+
+        while (end >= 0) {
+            apply(tasks, content.substring(start, end));
+            start = end + 1;
+            end = content.indexOf('\n', start);
+        }
+    }
+
+    /**
+     * Applies a single record to the given tasks.
+     *
+     * @param tasks  Tasks to apply the record to.
+     * @param record Record to apply.
+     */
+    private static void apply(ArrayList<Task> tasks, String record) {
+        String[] recordComponents = record.split("\\|", 2);
+        String type = recordComponents[0];
+        String args = recordComponents[1];
+
+        if (type.equals(ADD)) {
+            tasks.add(Storage.decodeTask(args));
+        } else if (type.equals(MARK)) {
+            for (int index : decodeIndices(args)) {
+                tasks.get(index).markAsDone();
+            }
+        } else if (type.equals(UNMARK)) {
+            for (int index : decodeIndices(args)) {
+                tasks.get(index).markAsUndone();
+            }
+        } else if (type.equals(DELETE)) {
+            removeAll(tasks, decodeIndices(args));
+        } else if (type.equals(NOTE)) {
+            String[] indexNoteSplit = args.split("\\|", 2);
+            tasks.get(Integer.parseInt(indexNoteSplit[0])).addNote(indexNoteSplit[1]);
+        } else {
+            assert false : "Unknown journal record type: " + type;
+        }
+    }
+
+    /**
+     * Removes the tasks at the given indices in a single pass.
+     *
+     * @param tasks   Tasks to remove from.
+     * @param indices Indices of the tasks, in ascending order without duplicates.
+     */
+    private static void removeAll(ArrayList<Task> tasks, int[] indices) {
+        if (indices.length == 1) {
+            tasks.remove(indices[0]);
+            return;
+        }
+
+        int write = 0;
+        int next = 0;
+        for (int read = 0; read < tasks.size(); read++) {
+            if (next < indices.length && indices[next] == read) {
+                next++;
+            } else {
+                tasks.set(write++, tasks.get(read));
+            }
+        }
+        tasks.subList(write, tasks.size()).clear();
+    }
+
+    /**
+     * Encodes task indices, merging consecutive indices into ranges.
+     *
+     * @param indices Indices in ascending order without duplicates.
+     * @return Encoded indices.
+     */
+    static String encodeIndices(int[] indices) {
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (i < indices.length) {
+            int end = i;
+            while (end + 1 < indices.length && indices[end + 1] == indices[end] + 1) {
+                end++;
+            }
+
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(indices[i]);
+            if (end > i) {
+                sb.append('-').append(indices[end]);
+            }
+            i = end + 1;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decodes task indices written by {@link #encodeIndices(int[])}.
+     *
+     * @param encoded Encoded indices.
+     * @return Indices in ascending order.
+     */
+    static int[] decodeIndices(String encoded) {
+        String[] parts = encoded.split(",");
+        int count = 0;
+        int[][] ranges = new int[parts.length][];
+        for (int i = 0; i < parts.length; i++) {
+            int dash = parts[i].indexOf('-');
+            int first = Integer.parseInt(dash < 0 ? parts[i] : parts[i].substring(0, dash));
+            int last = dash < 0 ? first : Integer.parseInt(parts[i].substring(dash + 1));
+            ranges[i] = new int[] {first, last};
+            count += last - first + 1;
+        }
+
+        int[] indices = new int[count];
+        int next = 0;
+        for (int[] range : ranges) {
+            for (int index = range[0]; index <= range[1]; index++) {
+                indices[next++] = index;
+            }
+        }
+        return indices;
+    }
+
+}
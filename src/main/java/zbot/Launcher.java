@@ -1,13 +1,22 @@
 package zbot;
 
+import java.util.Arrays;
+
 import javafx.application.Application;
 
 /**
  * A launcher class to workaround classpath issues.
+ * <p>
+ * Runs {@link BatchRunner} instead of the graphical interface when the first argument is
+ * {@code --batch}.
  */
 public class Launcher {
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         Application.launch(Main.class, args);
     }
 
@@ -0,0 +1,159 @@
+package zbot;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures the latency and throughput of a running {@link Server} on the loopback address.
+ * <p>
+ * Usage: {@code LoadTestClient [--port N] [--clients C] [--requests R] [--writes PERCENT]}
+ * <p>
+ * Each client connects on its own thread and sends its requests one after another, each
+ * waiting for the previous response. The given percentage of requests add a task and the
+ * rest look tasks up by a word. Latencies are reported at the 50th and 99th percentiles
+ * over all clients.
+ */
+public class LoadTestClient {
+    private static final int DEFAULT_CLIENTS = 8;
+    private static final int DEFAULT_REQUESTS = 10_000;
+    private static final int DEFAULT_WRITE_PERCENT = 20;
+    private static final String USAGE =
+            "Usage: LoadTestClient [--port N] [--clients C] [--requests R] [--writes PERCENT]";
+
+    public static void main(String[] args) {
+        int port = Server.DEFAULT_PORT;
+        int clientCount = DEFAULT_CLIENTS;
+        int requestCount = DEFAULT_REQUESTS;
+        int writePercent = DEFAULT_WRITE_PERCENT;
+
+        try {
+            for (int i = 0; i + 1 < args.length; i += 2) {
+                int value = Integer.parseInt(args[i + 1]);
+                switch (args[i]) {
+                case "--port":
+                    port = value;
+                    break;
+                case "--clients":
+                    clientCount = value;
+                    break;
+                case "--requests":
+                    requestCount = value;
+                    break;
+                case "--writes":
+                    writePercent = value;
+                    break;
+                default:
+                    throw new NumberFormatException(args[i]);
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        if (args.length % 2 != 0 || clientCount <= 0 || requestCount <= 0) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        try {
+            run(port, clientCount, requestCount, writePercent);
+        } catch (IOException e) {
+            System.out.println("I/O error occurred.");
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs the clients and prints the results.
+     */
+    private static void run(int port, int clientCount, int requestCount, int writePercent)
+            throws IOException, InterruptedException {
+        long[] latencies = new long[clientCount * requestCount];
+        IOException[] errors = new IOException[clientCount];
+        Thread[] clients = new Thread[clientCount];
+
+        long start = System.nanoTime();
+        for (int c = 0; c < clientCount; c++) {
+            int client = c;
+            clients[c] = new Thread(() -> {
+                try {
+                    runClient(port, client, requestCount, writePercent, latencies);
+                } catch (IOException e) {
+                    errors[client] = e;
+                }
+            }, "zbot-load-" + c);
+            clients[c].start();
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        for (IOException error : errors) {
+            if (error != null) {
+                throw error;
+            }
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("Sent %d requests from %d clients in %.3f s (%.0f requests/s)%n",
+                latencies.length, clientCount, seconds, latencies.length / seconds);
+        System.out.printf("Latency: p50 %d us, p99 %d us, max %d us%n", percentile(latencies, 50) / 1000,
+                percentile(latencies, 99) / 1000, latencies[latencies.length - 1] / 1000);
+    }
+
+    /**
+     * Sends the requests of one client, recording each latency in its share of the array.
+     */
+    private static void runClient(int port, int client, int requestCount, int writePercent, long[] latencies)
+            throws IOException {
+        Random random = new Random(client);
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer writer = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+
+            for (int i = 0; i < requestCount; i++) {
+                String request = random.nextInt(100) < writePercent
+                        ? "todo load test c" + client + "r" + i
+                        : "find /word c" + client + "r" + random.nextInt(i + 1);
+
+                long sent = System.nanoTime();
+                writer.write(request);
+                writer.write('\n');
+                writer.flush();
+                if (Server.readResponse(reader) == null) {
+                    throw new IOException("Server closed the connection.");
+                }
+                latencies[client * requestCount + i] = System.nanoTime() - sent;
+            }
+
+            writer.write("bye\n");
+            writer.flush();
+        }
+    }
+
+    /**
+     * Returns the value at the given percentile of sorted values.
+     */
+    private static long percentile(long[] sorted, int percent) {
+        int index = (int) Math.ceil(sorted.length * percent / 100.0) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+}
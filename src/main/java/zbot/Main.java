@@ -22,7 +22,13 @@ public class Main extends Application {
             AnchorPane ap = fxmlLoader.load();
             Scene scene = new Scene(ap);
             stage.setScene(scene);
-            fxmlLoader.<MainWindow>getController().setZbot(zbot); // inject the ZBot instance
+            MainWindow mainWindow = fxmlLoader.getController();
+            mainWindow.setZbot(zbot); // inject the ZBot instance
+            stage.setOnCloseRequest(event -> {
+                // Close once pending commands have run and their changes are saved
+                event.consume();
+                mainWindow.exit();
+            });
             stage.show();
         } catch (IOException e) {
             e.printStackTrace();
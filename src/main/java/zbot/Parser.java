@@ -1,16 +1,26 @@
 package zbot;
 
 import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
 /**
  * Represents a parser that parses and formats date and time.
+ * <p>
+ * Dates in the input format are read and written by hand when they have the usual fixed
+ * layout, without creating intermediate strings. Anything else is handed to a formatter,
+ * so the results and errors stay those of the formatter.
  */
 public class Parser {
     private static final String DEFAULT_TIME = "2359";
     private static final String INPUT_FORMAT = "dd/MM/yyyy HHmm";
     private static final String OUTPUT_FORMAT = "d MMM yyyy HH:mm";
+    private static final DateTimeFormatter INPUT_FORMATTER = DateTimeFormatter.ofPattern(INPUT_FORMAT);
+    private static final DateTimeFormatter OUTPUT_FORMATTER = DateTimeFormatter.ofPattern(OUTPUT_FORMAT);
+    private static final int DATE_LENGTH = 10;
+    private static final int DATE_TIME_LENGTH = 15;
 
     /**
      * Parses a date and time string into a LocalDateTime object.
@@ -20,14 +30,64 @@ public class Parser {
      * @throws DateTimeParseException If the date and time string is in an invalid
      *                                format.
      */
-    public static LocalDateTime parseDateTime(String dateTime) throws DateTimeParseException {
-        String[] dateTimeSplit = dateTime.trim().split(" ");
+    public static LocalDateTime parseDateTime(CharSequence dateTime) throws DateTimeParseException {
+        int length = dateTime.length();
+
+        if ((length == DATE_LENGTH || length == DATE_TIME_LENGTH)
+                && dateTime.charAt(2) == '/' && dateTime.charAt(5) == '/'
+                && (length == DATE_LENGTH || dateTime.charAt(10) == ' ')) {
+            LocalDateTime result = toDateTime(getDigits(dateTime, 6, 4), getDigits(dateTime, 3, 2),
+                    getDigits(dateTime, 0, 2),
+                    length == DATE_LENGTH ? 23 : getDigits(dateTime, 11, 2),
+                    length == DATE_LENGTH ? 59 : getDigits(dateTime, 13, 2));
+            if (result != null) {
+                return result;
+            }
+        }
+
+        String text = dateTime.toString();
+        String[] dateTimeSplit = text.trim().split(" ");
 
         if (dateTimeSplit.length == 1) {
-            dateTime = dateTime + " " + DEFAULT_TIME;
+            text = text + " " + DEFAULT_TIME;
+        }
+
+        return LocalDateTime.parse(text, INPUT_FORMATTER);
+    }
+
+    /**
+     * Returns the datetime with the given fields if the input format accepts them as they
+     * are, or null if the formatter would reject or adjust them.
+     *
+     * @param year   Year, or -1 if it is not a number.
+     * @param month  Month, or -1 if it is not a number.
+     * @param day    Day of the month, or -1 if it is not a number.
+     * @param hour   Hour, or -1 if it is not a number.
+     * @param minute Minute, or -1 if it is not a number.
+     * @return Datetime with the given fields, or null.
+     */
+    static LocalDateTime toDateTime(int year, int month, int day, int hour, int minute) {
+        if (year >= 1 && month >= 1 && month <= 12 && day >= 1
+                && day <= Month.of(month).length(Year.isLeap(year))
+                && hour >= 0 && hour <= 23 && minute >= 0 && minute <= 59) {
+            return LocalDateTime.of(year, month, day, hour, minute);
         }
+        return null;
+    }
 
-        return LocalDateTime.parse(dateTime, DateTimeFormatter.ofPattern(INPUT_FORMAT));
+    /**
+     * Returns the value of the given number of decimal digits, or -1 if any is not a digit.
+     */
+    private static int getDigits(CharSequence s, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
     }
 
     /**
@@ -37,7 +97,17 @@ public class Parser {
      * @return Date and time string in the output format. (i.e. d MMM yyyy HH:mm)
      */
     public static String formatDateTimeToOutput(LocalDateTime dateTime) {
-        return dateTime.format(DateTimeFormatter.ofPattern(OUTPUT_FORMAT));
+        return OUTPUT_FORMATTER.format(dateTime);
+    }
+
+    /**
+     * Appends a LocalDateTime object as a date and time string for output.
+     *
+     * @param sb       StringBuilder to append to.
+     * @param dateTime LocalDateTime object to be formatted.
+     */
+    public static void appendDateTimeForOutput(StringBuilder sb, LocalDateTime dateTime) {
+        OUTPUT_FORMATTER.formatTo(dateTime, sb);
     }
 
     /**
@@ -47,7 +117,47 @@ public class Parser {
      * @return Date and time string in the input format. (i.e. dd/MM/yyyy HHmm)
      */
     public static String formatDateTimeToInput(LocalDateTime dateTime) {
-        return dateTime.format(DateTimeFormatter.ofPattern(INPUT_FORMAT));
+        StringBuilder sb = new StringBuilder(DATE_TIME_LENGTH);
+        appendDateTimeForInput(sb, dateTime);
+        return sb.toString();
+    }
+
+    /**
+     * Appends a LocalDateTime object as a date and time string for input.
+     *
+     * @param sb       StringBuilder to append to.
+     * @param dateTime LocalDateTime object to be formatted.
+     */
+    public static void appendDateTimeForInput(StringBuilder sb, LocalDateTime dateTime) {
+        int year = dateTime.getYear();
+        if (year < 1 || year > 9999) {
+            // Years outside four digits are written with a sign or era by the formatter
+            INPUT_FORMATTER.formatTo(dateTime, sb);
+            return;
+        }
+
+        appendDigits(sb, dateTime.getDayOfMonth(), 2);
+        sb.append('/');
+        appendDigits(sb, dateTime.getMonthValue(), 2);
+        sb.append('/');
+        appendDigits(sb, year, 4);
+        sb.append(' ');
+        appendDigits(sb, dateTime.getHour(), 2);
+        appendDigits(sb, dateTime.getMinute(), 2);
+    }
+
+    /**
+     * Appends a non-negative value as the given number of decimal digits, padded with zeros.
+     */
+    private static void appendDigits(StringBuilder sb, int value, int count) {
+        int divisor = 1;
+        for (int i = 1; i < count; i++) {
+            divisor *= 10;
+        }
+
+        for (; divisor > 0; divisor /= 10) {
+            sb.append((char) ('0' + value / divisor % 10));
+        }
     }
 
 }
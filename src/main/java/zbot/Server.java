@@ -0,0 +1,288 @@
+package zbot;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import zbot.command.ParsedCommand;
+import zbot.ui.Ui;
+
+/**
+ * Serves one task list to several local clients over TCP.
+ * <p>
+ * Usage: {@code Server [--port N] [--data FILE]}
+ * <p>
+ * Clients send one command per line and receive the response lines followed by a line
+ * holding a single dot. Response lines that start with a dot have another dot added in
+ * front, which clients remove. Sending {@code bye} closes the connection.
+ * <p>
+ * Each connection is served on its own virtual thread where the runtime supports them,
+ * and on a pooled platform thread otherwise. Commands that change the task list are
+ * queued to a single writer thread and run one at a time in the order they arrive.
+ * Other commands run on the thread of their connection, alongside each other.
+ * <p>
+ * A command that fails is answered with an error response, and the connection stays open.
+ */
+public class Server implements Closeable {
+    /** Port used when none is given. */
+    public static final int DEFAULT_PORT = 5150;
+    static final String END_OF_RESPONSE = ".";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+    private static final String USAGE = "Usage: Server [--port N] [--data FILE]";
+    private static final String SHUTTING_DOWN = "Server is shutting down.";
+
+    private ZBot zbot;
+    private Ui ui = new Ui();
+    private ServerSocket serverSocket;
+    private Set<Socket> connections = new HashSet<>();
+    private boolean isClosed;
+    private ExecutorService connectionExecutor = newConnectionExecutor();
+    private ExecutorService writeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "zbot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructor for Server.
+     * <p>
+     * Listens on the loopback address only.
+     *
+     * @param zbot ZBot executing the commands.
+     * @param port Port to listen on, or 0 for any free port.
+     * @throws IOException If the port cannot be listened on.
+     */
+    public Server(ZBot zbot, int port) throws IOException {
+        this.zbot = zbot;
+        this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+    }
+
+    public static void main(String[] args) {
+        int port = DEFAULT_PORT;
+        String dataPath = ZBot.DEFAULT_FILE_PATH;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--port") && i + 1 < args.length) {
+                    port = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("--data") && i + 1 < args.length) {
+                    dataPath = args[++i];
+                } else {
+                    System.out.println(USAGE);
+                    return;
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        try (Server server = new Server(new ZBot(dataPath), port)) {
+            System.out.println("Serving " + dataPath + " on port " + server.getPort());
+            server.serve();
+        } catch (IOException e) {
+            System.out.println("I/O error occurred.");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return Port number.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections until the server is closed.
+     *
+     * @throws IOException If a connection cannot be accepted.
+     */
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                // Thrown when the server is closed while waiting
+                return;
+            }
+
+            synchronized (connections) {
+                if (isClosed) {
+                    socket.close();
+                    return;
+                }
+                connections.add(socket);
+            }
+            connectionExecutor.execute(() -> handle(socket));
+        }
+    }
+
+    /**
+     * Stops accepting connections, waits for queued changes, closes open connections and
+     * saves the changes.
+     * <p>
+     * Commands that change the task list and arrive after this call are answered with a
+     * message that the server is shutting down.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connectionExecutor.shutdown();
+        writeExecutor.shutdown();
+        try {
+            writeExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Socket> openConnections;
+        synchronized (connections) {
+            isClosed = true;
+            openConnections = new ArrayList<>(connections);
+        }
+        for (Socket socket : openConnections) {
+            // Ends the blocked read of the connection's thread
+            socket.close();
+        }
+        zbot.close();
+    }
+
+    /**
+     * Serves the commands of one connection until the client disconnects, sends "bye" or
+     * the server is closed.
+     */
+    private void handle(Socket socket) {
+        try (socket;
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer writer = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            String input = reader.readLine();
+
+            while (input != null && !input.equals("bye")) {
+                writeResponse(writer, execute(input));
+                writer.flush();
+                input = reader.readLine();
+            }
+        } catch (IOException e) {
+            // The client disconnected or the server closed; nothing is left to answer
+        } finally {
+            synchronized (connections) {
+                connections.remove(socket);
+            }
+        }
+    }
+
+    /**
+     * Executes a command, queueing it to the writer thread if it changes the task list.
+     * <p>
+     * Returns an error message if the command fails or the server is shutting down.
+     */
+    private String execute(String input) {
+        ParsedCommand parsedCommand = zbot.parseInput(input);
+        if (!parsedCommand.isMutating()) {
+            try {
+                return zbot.execute(parsedCommand);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                return ui.generateCommandFailedMsg();
+            }
+        }
+
+        try {
+            return writeExecutor.submit(() -> zbot.execute(parsedCommand)).get();
+        } catch (RejectedExecutionException e) {
+            return SHUTTING_DOWN;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return SHUTTING_DOWN;
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+            return ui.generateCommandFailedMsg();
+        }
+    }
+
+    /**
+     * Writes a response followed by the end-of-response line, adding a dot in front of
+     * lines that start with one.
+     *
+     * @param writer   Writer to write to.
+     * @param response Response to write.
+     * @throws IOException If the response cannot be written.
+     */
+    static void writeResponse(Writer writer, String response) throws IOException {
+        int start = 0;
+        while (start < response.length()) {
+            int end = response.indexOf('\n', start);
+            if (end < 0) {
+                end = response.length();
+            }
+            if (response.charAt(start) == '.') {
+                writer.write('.');
+            }
+            writer.write(response, start, end - start);
+            writer.write('\n');
+            start = end + 1;
+        }
+        writer.write(END_OF_RESPONSE);
+        writer.write('\n');
+    }
+
+    /**
+     * Reads a response written by {@link #writeResponse(Writer, String)}.
+     *
+     * @param reader Reader to read from.
+     * @return Response with a line break after each line, or null if the stream ended.
+     * @throws IOException If the response cannot be read.
+     */
+    static String readResponse(BufferedReader reader) throws IOException {
+        StringBuilder response = new StringBuilder();
+        String line = reader.readLine();
+
+        while (line != null && !line.equals(END_OF_RESPONSE)) {
+            response.append(line, line.startsWith(".") ? 1 : 0, line.length()).append('\n');
+            line = reader.readLine();
+        }
+
+        return line == null ? null : response.toString();
+    }
+
+    /**
+     * Returns an executor that starts a virtual thread per task, or a cached pool of
+     * platform threads on runtimes without virtual threads.
+     */
+    private static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "zbot-connection");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+}
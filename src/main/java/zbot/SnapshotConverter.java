@@ -0,0 +1,44 @@
+package zbot;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Converts task files between the text and binary snapshot formats.
+ * <p>
+ * Usage: {@code SnapshotConverter (--to-binary | --to-text) SOURCE TARGET}
+ * <p>
+ * The format of the source file is detected automatically, and any journal next to it
+ * is replayed before the target file is written. Any journal next to the target file is
+ * cleared, so it is not replayed over the converted tasks. The exit status is 1 if the
+ * conversion fails.
+ */
+public class SnapshotConverter {
+
+    public static void main(String[] args) {
+        if (args.length != 3 || !(args[0].equals("--to-binary") || args[0].equals("--to-text"))) {
+            System.out.println("Usage: SnapshotConverter (--to-binary | --to-text) SOURCE TARGET");
+            return;
+        }
+
+        if (!Files.exists(Path.of(args[1]))) {
+            System.out.println("No saved data found at " + args[1]);
+            System.exit(1);
+        }
+
+        try {
+            TaskList tasks = new TaskList(new Storage(args[1], true).load());
+            Storage target = new Storage(args[2], true);
+            target.setFormat(args[0].equals("--to-binary") ? Storage.Format.BINARY : Storage.Format.TEXT);
+            if (!target.save(tasks)) {
+                System.out.println("Could not write " + args[2]);
+                System.exit(1);
+            }
+            System.out.println("Converted " + tasks.size() + " tasks to " + args[2]);
+        } catch (ZBotException e) {
+            System.out.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+}
@@ -1,13 +1,22 @@
 package zbot;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.List;
 
+import zbot.metrics.FileWriteEvent;
+import zbot.metrics.LoadEvent;
+import zbot.metrics.Metrics;
+import zbot.metrics.SaveEvent;
 import zbot.task.Deadline;
 import zbot.task.Event;
 import zbot.task.Task;
@@ -15,9 +24,41 @@ import zbot.task.ToDo;
 
 /**
  * Represents the storage of tasks in a file.
+ * <p>
+ * In journaled mode, each mutation is appended as a small record to a journal next to
+ * the snapshot file instead of rewriting the whole snapshot. The journal is compacted
+ * into the snapshot once it grows past the compaction threshold.
+ * <p>
+ * Snapshots are written in either the pipe-delimited text format or the compact
+ * binary format. The format of an existing snapshot is detected when it is loaded.
+ * <p>
+ * With write-behind enabled, mutations are queued and written in batches by a
+ * background worker instead of on the caller's thread.
  */
 public class Storage {
+    /**
+     * Represents the file format of a snapshot.
+     */
+    public enum Format {
+        TEXT, BINARY
+    }
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String LENGTH_SUFFIX = ".tmp.length";
+    private static final long DEFAULT_COMPACTION_THRESHOLD = 1 << 20;
+    private static final long DEFAULT_PARALLEL_LOAD_THRESHOLD = 16 << 20;
+
     private String filePath;
+    private Journal journal;
+    private long compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+    private WriteBehindSaver writeBehindSaver;
+    private Format format = Format.TEXT;
+    private long parallelLoadThreshold = DEFAULT_PARALLEL_LOAD_THRESHOLD;
+    private boolean isDeferred;
+    private long deferredMutationCount;
+    private boolean isReadOnly;
+    private Metrics metrics;
 
     /**
      * Constructor for Storage.
@@ -25,8 +66,141 @@ public class Storage {
      * @param filePath Path of the file to store tasks.
      */
     public Storage(String filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * Constructor for Storage with optional journaling.
+     *
+     * @param filePath    Path of the file to store tasks.
+     * @param isJournaled True if mutations should be appended to a journal, false if
+     *                    every mutation should rewrite the whole file.
+     */
+    public Storage(String filePath, boolean isJournaled) {
         this.filePath = filePath;
         createFileIfNotExists();
+
+        if (isJournaled) {
+            this.journal = new Journal(filePath + JOURNAL_SUFFIX);
+        }
+    }
+
+    /**
+     * Sets the journal size after which the journal is compacted into the snapshot.
+     *
+     * @param compactionThreshold Journal size in bytes.
+     */
+    public void setCompactionThreshold(long compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Sets the text snapshot size above which it is parsed on multiple threads when loaded.
+     *
+     * @param parallelLoadThreshold Snapshot size in bytes.
+     */
+    public void setParallelLoadThreshold(long parallelLoadThreshold) {
+        this.parallelLoadThreshold = parallelLoadThreshold;
+    }
+
+    /**
+     * Sets the format in which snapshots are saved.
+     *
+     * @param format Format of saved snapshots.
+     */
+    public void setFormat(Format format) {
+        this.format = format;
+    }
+
+    /**
+     * Enables writing mutations in batches on a background thread.
+     * <p>
+     * Mutations saved after this call are queued and written together once the oldest
+     * one has waited for the maximum delay or the maximum number of pending mutations is
+     * reached. Callers should hold the monitor of the task list while mutating it and
+     * saving the mutation.
+     *
+     * @param maxDelayMillis      Maximum time a mutation may stay unsaved, in milliseconds.
+     * @param maxPendingMutations Number of pending mutations that triggers a write.
+     */
+    public void enableWriteBehind(long maxDelayMillis, int maxPendingMutations) {
+        assert writeBehindSaver == null : "Write-behind should only be enabled once.";
+        writeBehindSaver = new WriteBehindSaver(this, maxDelayMillis, maxPendingMutations);
+    }
+
+    /**
+     * Writes all pending mutations to file on the calling thread.
+     * <p>
+     * Does nothing if write-behind is not enabled.
+     */
+    public void flush() {
+        if (writeBehindSaver != null) {
+            writeBehindSaver.flush();
+        }
+    }
+
+    /**
+     * Writes all pending mutations and stops writing them in the background.
+     * <p>
+     * Mutations saved after this call are written on the calling thread. Does nothing if
+     * write-behind is not enabled.
+     */
+    public void close() {
+        if (writeBehindSaver != null) {
+            writeBehindSaver.close();
+            writeBehindSaver = null;
+        }
+    }
+
+    /**
+     * Records the durations and sizes of loads, saves and journal appends.
+     *
+     * @param metrics Metrics to record to.
+     */
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Defers saving mutations until the next checkpoint.
+     * <p>
+     * Mutations saved after this call are only counted, and the whole task list is saved
+     * by {@link #checkpoint(TaskList)}. Mutations since the last checkpoint are lost if
+     * the application stops without one.
+     */
+    public void deferSaves() {
+        assert writeBehindSaver == null : "Saves should not be deferred with write-behind enabled.";
+        isDeferred = true;
+    }
+
+    /**
+     * Returns whether any mutation has been deferred since the last checkpoint.
+     *
+     * @return True if the deferred mutations have not been saved, false otherwise.
+     */
+    public boolean hasDeferredMutations() {
+        return deferredMutationCount > 0;
+    }
+
+    /**
+     * Returns whether saves are refused because the saved data could not be loaded.
+     *
+     * @return True if the files are kept as they were found, false otherwise.
+     */
+    public boolean isReadOnly() {
+        return isReadOnly;
+    }
+
+    /**
+     * Saves all tasks if any mutation has been deferred since the last checkpoint.
+     *
+     * @param tasks Tasks after the deferred mutations.
+     */
+    public void checkpoint(TaskList tasks) {
+        if (deferredMutationCount > 0) {
+            save(tasks);
+            deferredMutationCount = 0;
+        }
     }
 
     /**
@@ -65,10 +239,18 @@ public class Storage {
      * @param text Text to write to the file.
      */
     public void writeToTextFile(String text) {
+        FileWriteEvent event = new FileWriteEvent();
+        event.begin();
+
         try {
             FileWriter fw = new FileWriter(filePath);
             fw.write(text);
             fw.close();
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit(filePath, 0, Files.size(Path.of(filePath)));
+            }
         } catch (IOException e) {
             System.out.println("I/O error occurred.");
             e.printStackTrace();
@@ -80,39 +262,327 @@ public class Storage {
      *
      * The tasks are saved in the following format:
      * [task type],[status],[description],[task-specific details]
+     * <p>
+     * In binary format, the tasks are saved as a binary snapshot instead.
+     * In journaled mode, the snapshot is replaced atomically and the journal is cleared.
+     * The temporary snapshot is forced to disk and its length recorded next to it before
+     * the journal is cleared, so that an interrupted compaction can tell whether it is complete.
+     *
+     * Nothing is written if the saved data could not be loaded, so that it is not replaced.
      *
      * @param tasks Tasks to save.
+     * @return True if the tasks were saved, false if the snapshot could not be written to.
+     */
+    public boolean save(TaskList tasks) {
+        if (isReadOnly) {
+            return false;
+        }
+
+        long start = startTimer();
+        SaveEvent event = new SaveEvent();
+        event.begin();
+
+        try {
+            if (journal == null) {
+                writeSnapshot(tasks, null);
+            } else {
+                Path tempPath = Path.of(filePath + TEMP_SUFFIX);
+                Path lengthPath = Path.of(filePath + LENGTH_SUFFIX);
+                Files.deleteIfExists(lengthPath);
+                writeSnapshot(tasks, tempPath);
+
+                Files.writeString(lengthPath, Long.toString(force(tempPath)));
+                force(lengthPath);
+                journal.clear();
+                Files.move(tempPath, Path.of(filePath), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                Files.delete(lengthPath);
+            }
+
+            event.end();
+            if (start != 0 || event.shouldCommit()) {
+                long bytes = Files.size(Path.of(filePath));
+                if (start != 0) {
+                    metrics.recordSave(System.nanoTime() - start, bytes);
+                }
+                event.commit(filePath, tasks.size(), bytes);
+            }
+            return true;
+        } catch (IOException e) {
+            System.out.println("I/O error occurred.");
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Writes all tasks in the current format.
+     *
+     * @param tasks    Tasks to write.
+     * @param tempPath Path of the temporary snapshot file, or null to overwrite the
+     *                 snapshot file directly.
+     * @throws IOException If the file cannot be written to.
      */
-    public void save(TaskList tasks) {
+    private void writeSnapshot(TaskList tasks, Path tempPath) throws IOException {
+        if (format == Format.BINARY) {
+            BinarySnapshot.write(tempPath == null ? Path.of(filePath) : tempPath, tasks);
+            return;
+        }
+
         StringBuilder sb = new StringBuilder();
 
         for (Task task : tasks) {
-            char taskType = task instanceof ToDo ? 'T'
-                    : task instanceof Deadline ? 'D'
-                            : task instanceof Event ? 'E' : null;
-            int taskStatusAsInt = task.getStatus() ? 1 : 0;
-            sb.append(taskType).append("|").append(taskStatusAsInt)
-                    .append("|").append(task.getDescription());
-
-            if (taskType == 'D') {
-                sb.append("|").append(Parser.formatDateTimeToInput(((Deadline) task).getDueDate()));
-            } else if (taskType == 'E') {
-                sb.append("|").append(Parser.formatDateTimeToInput(((Event) task).getStartDate()))
-                        .append("|").append(Parser.formatDateTimeToInput(((Event) task).getEndDate()));
-            } else if (taskType == 'T') {
-                // Do nothing
-            }
+            encodeTask(task, sb);
+            sb.append("\n");
+        }
+
+        if (tempPath == null) {
+            writeToTextFile(sb.toString());
+        } else {
+            Files.writeString(tempPath, sb);
+        }
+    }
+
+    /**
+     * Persists the addition of a task to the end of the list.
+     *
+     * @param tasks Tasks after the addition.
+     * @param task  Task that is added.
+     */
+    public void saveAdd(TaskList tasks, Task task) {
+        saveRecord(tasks, Journal.ADD + "|" + encodeTask(task));
+    }
+
+    /**
+     * Persists the marking of a task as done.
+     *
+     * @param tasks Tasks after the task is marked.
+     * @param index Index of the task.
+     */
+    public void saveMark(TaskList tasks, int index) {
+        saveRecord(tasks, Journal.MARK + "|" + index);
+    }
+
+    /**
+     * Persists the marking of a task as not done.
+     *
+     * @param tasks Tasks after the task is unmarked.
+     * @param index Index of the task.
+     */
+    public void saveUnmark(TaskList tasks, int index) {
+        saveRecord(tasks, Journal.UNMARK + "|" + index);
+    }
+
+    /**
+     * Persists the deletion of a task.
+     *
+     * @param tasks Tasks after the deletion.
+     * @param index Index of the deleted task.
+     */
+    public void saveDelete(TaskList tasks, int index) {
+        saveRecord(tasks, Journal.DELETE + "|" + index);
+    }
+
+    /**
+     * Persists the marking of several tasks as done in a single record.
+     *
+     * @param tasks   Tasks after the tasks are marked.
+     * @param indices Indices of the tasks, in ascending order without duplicates.
+     */
+    public void saveMarkAll(TaskList tasks, int[] indices) {
+        saveRecord(tasks, Journal.MARK + "|" + Journal.encodeIndices(indices));
+    }
+
+    /**
+     * Persists the marking of several tasks as not done in a single record.
+     *
+     * @param tasks   Tasks after the tasks are unmarked.
+     * @param indices Indices of the tasks, in ascending order without duplicates.
+     */
+    public void saveUnmarkAll(TaskList tasks, int[] indices) {
+        saveRecord(tasks, Journal.UNMARK + "|" + Journal.encodeIndices(indices));
+    }
 
-            assert taskType == 'T' || taskType == 'D' || taskType == 'E';
+    /**
+     * Persists the deletion of several tasks in a single record.
+     *
+     * @param tasks   Tasks after the deletion.
+     * @param indices Indices of the deleted tasks before the deletion, in ascending order
+     *                without duplicates.
+     */
+    public void saveDeleteAll(TaskList tasks, int[] indices) {
+        saveRecord(tasks, Journal.DELETE + "|" + Journal.encodeIndices(indices));
+    }
 
-            if (!task.getNote().isEmpty()) {
-                sb.append("|").append(task.getNote().getContent());
+    /**
+     * Persists the addition of a note to a task.
+     *
+     * @param tasks   Tasks after the note is added.
+     * @param index   Index of the task.
+     * @param content Content of the note.
+     */
+    public void saveNote(TaskList tasks, int index, String content) {
+        saveRecord(tasks, Journal.NOTE + "|" + index + "|" + content);
+    }
+
+    /**
+     * Saves a record describing a mutation, queues it if write-behind is enabled, or
+     * counts it if saves are deferred.
+     *
+     * @param tasks  Tasks after the mutation.
+     * @param record Journal record describing the mutation.
+     */
+    private void saveRecord(TaskList tasks, String record) {
+        if (isDeferred) {
+            deferredMutationCount++;
+        } else if (writeBehindSaver != null) {
+            writeBehindSaver.submit(tasks, record);
+        } else {
+            writeRecords(tasks, List.of(record));
+        }
+    }
+
+    /**
+     * Returns true if writing the given records needs the whole task list to be saved.
+     *
+     * @param records Journal records describing the mutations.
+     * @return True if the records would be written as a snapshot, false otherwise.
+     */
+    boolean isSnapshotDue(List<String> records) {
+        if (journal == null) {
+            return true;
+        }
+
+        long size = journal.size();
+        for (String record : records) {
+            size += record.length() + 1;
+        }
+        return size > compactionThreshold;
+    }
+
+    /**
+     * Appends records to the journal, compacting it if it grows past the threshold.
+     * <p>
+     * Without a journal, the whole task list is saved instead.
+     *
+     * @param tasks   Tasks after the mutations, or null to skip compaction.
+     * @param records Journal records describing the mutations, in order.
+     */
+    void writeRecords(TaskList tasks, List<String> records) {
+        if (isReadOnly) {
+            return;
+        }
+        if (journal == null) {
+            save(tasks);
+            return;
+        }
+
+        try {
+            long start = startTimer();
+            FileWriteEvent event = new FileWriteEvent();
+            event.begin();
+            long sizeBefore = journal.size();
+            journal.append(records);
+
+            event.end();
+            if (start != 0) {
+                metrics.recordJournalAppend(System.nanoTime() - start, journal.size() - sizeBefore);
+            }
+            if (event.shouldCommit()) {
+                event.commit(filePath + JOURNAL_SUFFIX, records.size(), journal.size() - sizeBefore);
             }
+        } catch (IOException e) {
+            System.out.println("I/O error occurred.");
+            e.printStackTrace();
+        }
 
-            sb.append("\n");
+        if (tasks != null && journal.size() > compactionThreshold) {
+            save(tasks);
         }
+    }
 
-        writeToTextFile(sb.toString());
+    /**
+     * Encodes a task into a single line of the save file, without the line break.
+     *
+     * @param task Task to encode.
+     * @return Encoded task.
+     */
+    static String encodeTask(Task task) {
+        StringBuilder sb = new StringBuilder();
+        encodeTask(task, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Appends a task encoded as a single line of the save file, without the line break.
+     *
+     * @param task Task to encode.
+     * @param sb   StringBuilder to append to.
+     */
+    static void encodeTask(Task task, StringBuilder sb) {
+        char taskType = task instanceof ToDo ? 'T'
+                : task instanceof Deadline ? 'D'
+                        : task instanceof Event ? 'E' : null;
+        int taskStatusAsInt = task.getStatus() ? 1 : 0;
+        sb.append(taskType).append("|").append(taskStatusAsInt)
+                .append("|").append(task.getDescription());
+
+        if (taskType == 'D') {
+            sb.append("|");
+            Parser.appendDateTimeForInput(sb, ((Deadline) task).getDueDate());
+        } else if (taskType == 'E') {
+            sb.append("|");
+            Parser.appendDateTimeForInput(sb, ((Event) task).getStartDate());
+            sb.append("|");
+            Parser.appendDateTimeForInput(sb, ((Event) task).getEndDate());
+        } else if (taskType == 'T') {
+            // Do nothing
+        }
+
+        assert taskType == 'T' || taskType == 'D' || taskType == 'E';
+
+        if (!task.getNote().isEmpty()) {
+            sb.append("|").append(task.getNote().getContent());
+        }
+    }
+
+    /**
+     * Decodes a single line of the save file into a task.
+     *
+     * @param line Line to decode, without the line break.
+     * @return Decoded task.
+     * @throws DateTimeParseException If a date in the line is in an invalid format.
+     */
+    static Task decodeTask(String line) throws DateTimeParseException {
+        String[] taskComponents = line.split("\\|", 6);
+        Task task = null;
+        if (taskComponents[0].equals("T")) {
+            assert taskComponents.length == 3 || taskComponents.length == 4;
+            task = taskComponents.length == 3
+                    ? new ToDo(taskComponents[2])
+                    : new ToDo(taskComponents[2], taskComponents[3]);
+        } else if (taskComponents[0].equals("D")) {
+            assert taskComponents.length == 4 || taskComponents.length == 5;
+            task = taskComponents.length == 4
+                    ? new Deadline(taskComponents[2], Parser.parseDateTime(taskComponents[3]))
+                    : new Deadline(taskComponents[2], Parser.parseDateTime(taskComponents[3]),
+                            taskComponents[4]);
+        } else if (taskComponents[0].equals("E")) {
+            assert taskComponents.length == 5 || taskComponents.length == 6;
+            task = taskComponents.length == 5
+                    ? new Event(taskComponents[2], Parser.parseDateTime(taskComponents[3]),
+                            Parser.parseDateTime(taskComponents[4]))
+                    : new Event(taskComponents[2], Parser.parseDateTime(taskComponents[3]),
+                            Parser.parseDateTime(taskComponents[4]),
+                            taskComponents[5]);
+        }
+
+        assert task != null : "Task should not be null.";
+
+        if (taskComponents[1].equals("1")) {
+            task.markAsDone();
+        }
+        return task;
     }
 
     /**
@@ -120,55 +590,124 @@ public class Storage {
      *
      * The tasks are loaded in the following format:
      * [task type],[status],[description],[task-specific details]
+     * <p>
+     * Text snapshots are read in large windows and decoded in place, in parallel chunks if they
+     * are larger than the parallel load threshold. Binary snapshots are detected
+     * by their header and loaded as such. The format of a non-empty file is kept for
+     * later saves.
+     * In journaled mode, the records in the journal are replayed on top of the snapshot.
+     * <p>
+     * If the snapshot or the journal cannot be read, the storage becomes read-only so that
+     * later saves and compactions do not replace the files with the tasks of this session.
      *
      * @return ArrayList of tasks loaded from file.
-     * @throws ZBotException If no saved data is found.
+     * @throws ZBotException If no saved data is found, or if it cannot be read.
      */
     public ArrayList<Task> load() throws ZBotException {
         ArrayList<Task> tasks = new ArrayList<>();
+        long start = startTimer();
+        LoadEvent event = new LoadEvent();
+        event.begin();
 
         try {
-            Scanner sc = new Scanner(new File(filePath));
-
-            while (sc.hasNextLine()) {
-                String[] taskComponents = sc.nextLine().split("\\|", 6);
-                Task task = null;
-                if (taskComponents[0].equals("T")) {
-                    assert taskComponents.length == 3 || taskComponents.length == 4;
-                    task = taskComponents.length == 3
-                            ? new ToDo(taskComponents[2])
-                            : new ToDo(taskComponents[2], taskComponents[3]);
-                } else if (taskComponents[0].equals("D")) {
-                    assert taskComponents.length == 4 || taskComponents.length == 5;
-                    task = taskComponents.length == 4
-                            ? new Deadline(taskComponents[2], Parser.parseDateTime(taskComponents[3]))
-                            : new Deadline(taskComponents[2], Parser.parseDateTime(taskComponents[3]),
-                                    taskComponents[4]);
-                } else if (taskComponents[0].equals("E")) {
-                    assert taskComponents.length == 5 || taskComponents.length == 6;
-                    task = taskComponents.length == 5
-                            ? new Event(taskComponents[2], Parser.parseDateTime(taskComponents[3]),
-                                    Parser.parseDateTime(taskComponents[4]))
-                            : new Event(taskComponents[2], Parser.parseDateTime(taskComponents[3]),
-                                    Parser.parseDateTime(taskComponents[4]),
-                                    taskComponents[5]);
+            if (journal != null) {
+                recoverInterruptedCompaction();
+            }
+
+            if (BinarySnapshot.isBinary(Path.of(filePath))) {
+                tasks = BinarySnapshot.read(Path.of(filePath));
+                format = Format.BINARY;
+            } else {
+                if (Files.size(Path.of(filePath)) > 0) {
+                    format = Format.TEXT;
                 }
+                tasks = WindowedTaskLoader.load(Path.of(filePath), parallelLoadThreshold);
+            }
 
-                assert task != null : "Task should not be null.";
+            if (journal != null) {
+                journal.replay(tasks);
+            }
 
-                if (taskComponents[1].equals("1")) {
-                    task.markAsDone();
-                }
-                tasks.add(task);
+            if (start != 0) {
+                metrics.recordLoad(System.nanoTime() - start);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit(filePath, tasks.size());
             }
-            sc.close();
-        } catch (FileNotFoundException e) {
+        } catch (NoSuchFileException e) {
             throw new ZBotException("No saved data found.");
+        } catch (IOException e) {
+            isReadOnly = true;
+            e.printStackTrace();
+            throw new ZBotException("Saved data could not be read.");
         } catch (DateTimeParseException e) {
-            System.out.println(
-                    "Please enter a valid date and time format (dd/MM/yyyy HHmm, dd/MM/yyyy)!\n");
+            isReadOnly = true;
+            throw new ZBotException("Saved data has a date in an invalid format: " + e.getParsedString());
         }
         return tasks;
     }
 
+    /**
+     * Returns the current time in nanoseconds if metrics are being recorded, or 0 if not.
+     */
+    private long startTimer() {
+        return metrics != null && metrics.isEnabled() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Forces the content of the file at the given path to disk.
+     *
+     * @param path Path of the file.
+     * @return Length of the file in bytes.
+     * @throws IOException If the file cannot be opened or written to disk.
+     */
+    private static long force(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.force(true);
+            return channel.size();
+        }
+    }
+
+    /**
+     * Finishes or discards a compaction that was interrupted before the new snapshot was
+     * moved into place.
+     * <p>
+     * The temporary snapshot is moved into place only if the journal was already cleared and
+     * its recorded length matches, which shows it was completely written before the journal
+     * was cleared. Otherwise it is deleted and the journal is replayed over the old snapshot.
+     *
+     * @throws IOException If the temporary snapshot cannot be moved or deleted.
+     */
+    private void recoverInterruptedCompaction() throws IOException {
+        Path tempPath = Path.of(filePath + TEMP_SUFFIX);
+        Path lengthPath = Path.of(filePath + LENGTH_SUFFIX);
+
+        if (Files.exists(tempPath)) {
+            if (journal.size() == 0 && isComplete(tempPath, lengthPath)) {
+                Files.move(tempPath, Path.of(filePath), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                Files.delete(tempPath);
+            }
+        }
+        Files.deleteIfExists(lengthPath);
+    }
+
+    /**
+     * Returns true if the temporary snapshot has the length recorded after it was written.
+     */
+    private static boolean isComplete(Path tempPath, Path lengthPath) throws IOException {
+        if (!Files.exists(lengthPath)) {
+            return false;
+        }
+
+        try {
+            return Long.parseLong(Files.readString(lengthPath).trim()) == Files.size(tempPath);
+        } catch (NumberFormatException e) {
+            // The length was not completely written either
+            return false;
+        }
+    }
+
 }
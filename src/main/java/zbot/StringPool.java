@@ -0,0 +1,138 @@
+package zbot;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Represents a pool of strings stored as UTF-8 bytes in a single shared array.
+ * <p>
+ * Each string is referred to by an integer id. Removed strings leave their bytes behind
+ * until more than half of the array is unused, at which point the live strings are
+ * moved together. Ids stay the same when this happens and are reused after removal.
+ */
+class StringPool {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MIN_COMPACTION_SIZE = 1 << 16;
+
+    private byte[] data;
+    private int dataSize;
+    private int[] offsets;
+    private int[] lengths;
+    private int idCount;
+    private int[] freeIds = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private int unusedBytes;
+
+    /**
+     * Constructor for StringPool.
+     *
+     * Creates an empty pool with room for the given number of strings.
+     *
+     * @param expectedCount Number of strings expected to be added.
+     */
+    StringPool(int expectedCount) {
+        int capacity = Math.max(expectedCount, INITIAL_CAPACITY);
+        this.data = new byte[capacity * 16];
+        this.offsets = new int[capacity];
+        this.lengths = new int[capacity];
+    }
+
+    /**
+     * Constructor for StringPool.
+     *
+     * Creates a copy of the given pool.
+     *
+     * @param other Pool to copy.
+     */
+    StringPool(StringPool other) {
+        this.data = Arrays.copyOf(other.data, other.dataSize);
+        this.dataSize = other.dataSize;
+        this.offsets = Arrays.copyOf(other.offsets, Math.max(other.idCount, INITIAL_CAPACITY));
+        this.lengths = Arrays.copyOf(other.lengths, Math.max(other.idCount, INITIAL_CAPACITY));
+        this.idCount = other.idCount;
+        this.freeIds = Arrays.copyOf(other.freeIds, Math.max(other.freeCount, INITIAL_CAPACITY));
+        this.freeCount = other.freeCount;
+        this.unusedBytes = other.unusedBytes;
+    }
+
+    /**
+     * Adds a string to the pool.
+     *
+     * @param s String to add.
+     * @return Id of the string.
+     */
+    int add(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (dataSize + bytes.length > data.length) {
+            data = Arrays.copyOf(data, Math.max(dataSize + bytes.length, data.length * 2));
+        }
+
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+        } else {
+            if (idCount == offsets.length) {
+                offsets = Arrays.copyOf(offsets, idCount * 2);
+                lengths = Arrays.copyOf(lengths, idCount * 2);
+            }
+            id = idCount++;
+        }
+
+        System.arraycopy(bytes, 0, data, dataSize, bytes.length);
+        offsets[id] = dataSize;
+        lengths[id] = bytes.length;
+        dataSize += bytes.length;
+        return id;
+    }
+
+    /**
+     * Returns the string with the given id.
+     *
+     * @param id Id of the string.
+     * @return String with the given id.
+     */
+    String get(int id) {
+        assert lengths[id] >= 0 : "String should not have been removed.";
+        return new String(data, offsets[id], lengths[id], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Removes the string with the given id, freeing the id for reuse.
+     *
+     * @param id Id of the string.
+     */
+    void remove(int id) {
+        assert lengths[id] >= 0 : "String should not have been removed.";
+        unusedBytes += lengths[id];
+        lengths[id] = -1;
+
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = id;
+
+        if (dataSize >= MIN_COMPACTION_SIZE && unusedBytes > dataSize / 2) {
+            compact();
+        }
+    }
+
+    /**
+     * Moves the live strings to the front of a new array that fits them.
+     */
+    private void compact() {
+        byte[] compacted = new byte[Math.max(dataSize - unusedBytes, INITIAL_CAPACITY) * 2];
+        int size = 0;
+        for (int id = 0; id < idCount; id++) {
+            if (lengths[id] >= 0) {
+                System.arraycopy(data, offsets[id], compacted, size, lengths[id]);
+                offsets[id] = size;
+                size += lengths[id];
+            }
+        }
+
+        data = compacted;
+        dataSize = size;
+        unusedBytes = 0;
+    }
+
+}
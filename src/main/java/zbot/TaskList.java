@@ -1,15 +1,60 @@
 package zbot;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Function;
 
+import zbot.index.DeadlineIndex;
+import zbot.index.IntervalTree;
+import zbot.index.KeywordIndex;
+import zbot.task.Deadline;
+import zbot.task.Event;
 import zbot.task.Task;
 
 /**
  * Represents a list of tasks.
+ * <p>
+ * Each task is given a handle by the backing sequence when it is added. Handles increase
+ * with the position of the task in the list, so indexes can refer to tasks by handle and
+ * still report them in list order.
+ * <p>
+ * Indexes are built on their first query and kept up to date afterwards.
+ * <p>
+ * Statuses and notes should be changed through the task list rather than through the
+ * returned tasks, since the columnar backing returns views that are not written back.
+ * <p>
+ * Adding, removing, querying indexes and taking snapshots synchronize on the task list.
+ * With the concurrent backing, positional access and iteration do not lock and may run
+ * alongside a writer. A snapshot answers index queries from the indexes of its task list
+ * while no task has been added or removed since it was taken, and builds its own otherwise.
  */
 public class TaskList implements Iterable<Task> {
-    private ArrayList<Task> list;
+    /**
+     * Represents the data structure backing a task list.
+     */
+    public enum Backing {
+        /** Constant-time access, linear-time removal. */
+        ARRAY,
+        /** Logarithmic-time access and removal. */
+        FENWICK,
+        /** Lock-free reads and snapshots alongside a writer. */
+        CONCURRENT,
+        /** Primitive columns with tasks created on demand, for a small heap footprint. */
+        COLUMNAR
+    }
+
+    private static final int MAX_INDEXED_REMOVAL_FRACTION = 16;
+
+    private TaskSequence list;
+    private KeywordIndex keywordIndex;
+    private DeadlineIndex deadlineIndex;
+    private IntervalTree eventIndex;
+    private long modificationCount;
+    private TaskList source;
+    private long sourceModificationCount;
 
     /**
      * Constructor for TaskList.
@@ -17,7 +62,7 @@ public class TaskList implements Iterable<Task> {
      * Creates an empty list of tasks.
      */
     public TaskList() {
-        this.list = new ArrayList<>();
+        this(new ArrayList<>());
     }
 
     /**
@@ -28,6 +73,40 @@ public class TaskList implements Iterable<Task> {
      * @param list List of tasks.
      */
     public TaskList(ArrayList<Task> list) {
+        this(list, Backing.ARRAY);
+    }
+
+    /**
+     * Constructor for TaskList with the given backing.
+     *
+     * Creates a list of tasks with the given list.
+     *
+     * @param list    List of tasks.
+     * @param backing Data structure backing the list.
+     */
+    public TaskList(ArrayList<Task> list, Backing backing) {
+        switch (backing) {
+        case FENWICK:
+            this.list = new FenwickTaskSequence(list);
+            break;
+        case CONCURRENT:
+            this.list = new ConcurrentTaskSequence(list);
+            break;
+        case COLUMNAR:
+            this.list = new ColumnarTaskSequence(list);
+            break;
+        default:
+            this.list = new ArrayTaskSequence(list);
+            break;
+        }
+    }
+
+    /**
+     * Constructor for TaskList over an existing sequence.
+     *
+     * @param list Sequence of tasks.
+     */
+    private TaskList(TaskSequence list) {
         this.list = list;
     }
 
@@ -37,8 +116,19 @@ public class TaskList implements Iterable<Task> {
      * @param task Task to be added.
      * @return True if the task is added successfully, false otherwise.
      */
-    public boolean add(Task task) {
-        return this.list.add(task);
+    public synchronized boolean add(Task task) {
+        int handle = this.list.add(task);
+        modificationCount++;
+        if (keywordIndex != null) {
+            keywordIndex.add(handle, task.getDescription());
+        }
+        if (deadlineIndex != null && task instanceof Deadline) {
+            deadlineIndex.add(handle, ((Deadline) task).getDueDate());
+        }
+        if (eventIndex != null && task instanceof Event) {
+            eventIndex.add(handle, ((Event) task).getStartDate(), ((Event) task).getEndDate());
+        }
+        return true;
     }
 
     /**
@@ -57,8 +147,107 @@ public class TaskList implements Iterable<Task> {
      * @param index Index of the task.
      * @return Task that is removed.
      */
-    public Task remove(int index) {
-        return this.list.remove(index);
+    public synchronized Task remove(int index) {
+        int handle = this.list.handleAt(index);
+        Task task = this.list.remove(index);
+        modificationCount++;
+        removeFromIndexes(handle, task);
+
+        if (this.list.compactIfSparse()) {
+            // Handles were renumbered, so the indexes are rebuilt on their next query
+            keywordIndex = null;
+            deadlineIndex = null;
+            eventIndex = null;
+        }
+        return task;
+    }
+
+    /**
+     * Removes the tasks at the specified indices in a single pass.
+     * <p>
+     * The indices refer to positions before any of the tasks are removed. Removing more
+     * than a small fraction of the list drops the indexes, which are then rebuilt on their
+     * next query instead of being updated task by task.
+     *
+     * @param indices Indices of the tasks, in ascending order without duplicates.
+     */
+    public synchronized void removeAll(int[] indices) {
+        if (indices.length == 0) {
+            return;
+        }
+        Objects.checkIndex(indices[indices.length - 1], list.size());
+
+        if (indices.length > list.size() / MAX_INDEXED_REMOVAL_FRACTION) {
+            keywordIndex = null;
+            deadlineIndex = null;
+            eventIndex = null;
+        }
+
+        for (int index : indices) {
+            if (keywordIndex == null && deadlineIndex == null && eventIndex == null) {
+                break;
+            }
+            removeFromIndexes(list.handleAt(index), list.get(index));
+        }
+
+        this.list.removeAll(indices);
+        modificationCount++;
+
+        if (this.list.compactIfSparse()) {
+            keywordIndex = null;
+            deadlineIndex = null;
+            eventIndex = null;
+        }
+    }
+
+    /**
+     * Marks the task at the specified index as done.
+     *
+     * @param index Index of the task.
+     */
+    public synchronized void markAsDone(int index) {
+        this.list.setDone(index, true);
+    }
+
+    /**
+     * Marks the tasks at the specified indices as done.
+     *
+     * @param indices Indices of the tasks.
+     */
+    public synchronized void markAsDone(int[] indices) {
+        for (int index : indices) {
+            this.list.setDone(index, true);
+        }
+    }
+
+    /**
+     * Marks the task at the specified index as undone.
+     *
+     * @param index Index of the task.
+     */
+    public synchronized void markAsUndone(int index) {
+        this.list.setDone(index, false);
+    }
+
+    /**
+     * Marks the tasks at the specified indices as undone.
+     *
+     * @param indices Indices of the tasks.
+     */
+    public synchronized void markAsUndone(int[] indices) {
+        for (int index : indices) {
+            this.list.setDone(index, false);
+        }
+    }
+
+    /**
+     * Adds a note to the task at the specified index.
+     *
+     * @param index   Index of the task.
+     * @param content Note content of the task.
+     */
+    public synchronized void addNote(int index, String content) {
+        this.list.setNote(index, content);
     }
 
     /**
@@ -70,6 +259,226 @@ public class TaskList implements Iterable<Task> {
         return this.list.size();
     }
 
+    /**
+     * Returns the indices of the tasks with the given status.
+     *
+     * @param isDone True to find the tasks that are done, false to find those that are not.
+     * @return Indices of the matching tasks in ascending order.
+     */
+    public synchronized int[] findByStatus(boolean isDone) {
+        int[] indices = new int[list.size()];
+        int count = 0;
+        int index = 0;
+        for (Task task : list) {
+            if (task.getStatus() == isDone) {
+                indices[count++] = index;
+            }
+            index++;
+        }
+        return Arrays.copyOf(indices, count);
+    }
+
+    /**
+     * Returns the indices of the tasks of the given type.
+     *
+     * @param type Class of the tasks to find, such as {@code Deadline.class}.
+     * @return Indices of the matching tasks in ascending order.
+     */
+    public synchronized int[] findByType(Class<? extends Task> type) {
+        int[] indices = new int[list.size()];
+        int count = 0;
+        int index = 0;
+        for (Task task : list) {
+            if (type.isInstance(task)) {
+                indices[count++] = index;
+            }
+            index++;
+        }
+        return Arrays.copyOf(indices, count);
+    }
+
+    /**
+     * Returns the indices of the tasks whose description contains the given keyword.
+     * <p>
+     * Keywords without whitespace are looked up in the keyword index. Other keywords are
+     * matched against every description.
+     *
+     * @param keyword Keyword to look for.
+     * @return Indices of the matching tasks in ascending order.
+     */
+    public synchronized int[] findByKeyword(String keyword) {
+        if (!KeywordIndex.isWord(keyword)) {
+            return scanDescriptions(keyword);
+        }
+        return toIndices(findHandles(tasks -> tasks.getKeywordIndex().findSubstring(keyword)));
+    }
+
+    /**
+     * Returns the indices of the tasks whose description contains the given word.
+     *
+     * @param word Word to look for.
+     * @return Indices of the matching tasks in ascending order.
+     */
+    public synchronized int[] findByWord(String word) {
+        return toIndices(findHandles(tasks -> tasks.getKeywordIndex().findWord(word)));
+    }
+
+    /**
+     * Returns the indices of the tasks whose description contains a word starting with
+     * the given prefix.
+     *
+     * @param prefix Prefix to look for.
+     * @return Indices of the matching tasks in ascending order.
+     */
+    public synchronized int[] findByPrefix(String prefix) {
+        return toIndices(findHandles(tasks -> tasks.getKeywordIndex().findPrefix(prefix)));
+    }
+
+    /**
+     * Returns the indices of the deadlines due strictly before the given datetime.
+     *
+     * @param dateTime Datetime to compare against.
+     * @return Indices of the matching deadlines in order of due datetime.
+     */
+    public synchronized int[] findDeadlinesBefore(LocalDateTime dateTime) {
+        return toIndices(findHandles(tasks -> tasks.getDeadlineIndex().findBefore(dateTime)));
+    }
+
+    /**
+     * Returns the indices of the deadlines due between the given datetimes, inclusive.
+     *
+     * @param from Earliest due datetime.
+     * @param to   Latest due datetime.
+     * @return Indices of the matching deadlines in order of due datetime.
+     */
+    public synchronized int[] findDeadlinesBetween(LocalDateTime from, LocalDateTime to) {
+        return toIndices(findHandles(tasks -> tasks.getDeadlineIndex().findBetween(from, to)));
+    }
+
+    /**
+     * Returns the indices of the events that overlap the given range, inclusive.
+     *
+     * @param from Start of the range.
+     * @param to   End of the range.
+     * @return Indices of the matching events in order of start datetime.
+     */
+    public synchronized int[] findEventsOverlapping(LocalDateTime from, LocalDateTime to) {
+        return toIndices(findHandles(tasks -> tasks.getEventIndex().findOverlapping(from, to)));
+    }
+
+    /**
+     * Runs a query on the indexes of the task list this is a snapshot of, if no task has
+     * been added or removed since, or on the indexes of this list otherwise.
+     */
+    private int[] findHandles(Function<TaskList, int[]> query) {
+        if (source != null) {
+            synchronized (source) {
+                if (source.modificationCount == sourceModificationCount) {
+                    return query.apply(source);
+                }
+            }
+        }
+        return query.apply(this);
+    }
+
+    /**
+     * Removes a task from the indexes that have been built.
+     */
+    private void removeFromIndexes(int handle, Task task) {
+        if (keywordIndex != null) {
+            keywordIndex.remove(handle, task.getDescription());
+        }
+        if (deadlineIndex != null && task instanceof Deadline) {
+            deadlineIndex.remove(handle, ((Deadline) task).getDueDate());
+        }
+        if (eventIndex != null && task instanceof Event) {
+            eventIndex.remove(handle, ((Event) task).getStartDate());
+        }
+    }
+
+    /**
+     * Returns the keyword index, building it from the current tasks on first use.
+     */
+    private KeywordIndex getKeywordIndex() {
+        if (keywordIndex == null) {
+            keywordIndex = new KeywordIndex();
+            for (int i = 0; i < list.size(); i++) {
+                keywordIndex.add(list.handleAt(i), list.get(i).getDescription());
+            }
+        }
+        return keywordIndex;
+    }
+
+    /**
+     * Returns the deadline index, building it from the current tasks on first use.
+     */
+    private DeadlineIndex getDeadlineIndex() {
+        if (deadlineIndex == null) {
+            deadlineIndex = new DeadlineIndex();
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i) instanceof Deadline) {
+                    deadlineIndex.add(list.handleAt(i), ((Deadline) list.get(i)).getDueDate());
+                }
+            }
+        }
+        return deadlineIndex;
+    }
+
+    /**
+     * Returns the event index, building it from the current tasks on first use.
+     */
+    private IntervalTree getEventIndex() {
+        if (eventIndex == null) {
+            eventIndex = new IntervalTree();
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i) instanceof Event) {
+                    Event event = (Event) list.get(i);
+                    eventIndex.add(list.handleAt(i), event.getStartDate(), event.getEndDate());
+                }
+            }
+        }
+        return eventIndex;
+    }
+
+    /**
+     * Converts handles into indices, in place.
+     */
+    private int[] toIndices(int[] taskHandles) {
+        for (int i = 0; i < taskHandles.length; i++) {
+            taskHandles[i] = list.indexOf(taskHandles[i]);
+            assert taskHandles[i] >= 0 : "Indexed task should be in the list.";
+        }
+        return taskHandles;
+    }
+
+    private int[] scanDescriptions(String keyword) {
+        int[] indices = new int[list.size()];
+        int count = 0;
+        int index = 0;
+        for (Task task : list) {
+            if (task.getDescription().contains(keyword)) {
+                indices[count++] = index;
+            }
+            index++;
+        }
+        return Arrays.copyOf(indices, count);
+    }
+
+    /**
+     * Returns a read-only copy of the list as it is now.
+     * <p>
+     * Takes constant time with the concurrent backing and linear time otherwise. The
+     * snapshot shares the indexes of this list until a task is added or removed.
+     *
+     * @return Snapshot of the list.
+     */
+    public synchronized TaskList snapshot() {
+        TaskList snapshot = new TaskList(list.snapshot());
+        snapshot.source = this;
+        snapshot.sourceModificationCount = modificationCount;
+        return snapshot;
+    }
+
     @Override
     public Iterator<Task> iterator() {
         return this.list.iterator();
@@ -0,0 +1,115 @@
+package zbot;
+
+import zbot.task.Task;
+
+/**
+ * Represents the ordered storage of tasks behind a {@link TaskList}.
+ * <p>
+ * Each task is given a handle when it is added. Handles increase with the position of
+ * the task, so sorting handles sorts the tasks in list order.
+ */
+interface TaskSequence extends Iterable<Task> {
+
+    /**
+     * Adds a task to the end of the sequence.
+     *
+     * @param task Task to be added.
+     * @return Handle of the task.
+     */
+    int add(Task task);
+
+    /**
+     * Returns the task at the specified index.
+     *
+     * @param index Index of the task.
+     * @return Task at the specified index.
+     */
+    Task get(int index);
+
+    /**
+     * Removes the task at the specified index.
+     *
+     * @param index Index of the task.
+     * @return Task that is removed.
+     */
+    Task remove(int index);
+
+    /**
+     * Removes the tasks at the specified indices.
+     * <p>
+     * The indices refer to positions before any of the tasks are removed.
+     *
+     * @param indices Indices of the tasks, in ascending order without duplicates.
+     */
+    default void removeAll(int[] indices) {
+        for (int i = indices.length - 1; i >= 0; i--) {
+            remove(indices[i]);
+        }
+    }
+
+    /**
+     * Sets the status of the task at the specified index.
+     *
+     * @param index  Index of the task.
+     * @param isDone True if the task is done, false otherwise.
+     */
+    default void setDone(int index, boolean isDone) {
+        if (isDone) {
+            get(index).markAsDone();
+        } else {
+            get(index).markAsUndone();
+        }
+    }
+
+    /**
+     * Sets the note of the task at the specified index.
+     *
+     * @param index   Index of the task.
+     * @param content Note content of the task.
+     */
+    default void setNote(int index, String content) {
+        get(index).addNote(content);
+    }
+
+    /**
+     * Returns the handle of the task at the specified index.
+     *
+     * @param index Index of the task.
+     * @return Handle of the task.
+     */
+    int handleAt(int index);
+
+    /**
+     * Returns the index of the task with the given handle, or -1 if it has been removed.
+     *
+     * @param handle Handle of the task.
+     * @return Index of the task.
+     */
+    int indexOf(int handle);
+
+    /**
+     * Returns the number of tasks in the sequence.
+     *
+     * @return Number of tasks in the sequence.
+     */
+    int size();
+
+    /**
+     * Reclaims space left by removed tasks if there is enough of it.
+     * <p>
+     * Handles given out earlier are no longer valid after a compaction.
+     *
+     * @return True if the sequence was compacted, false otherwise.
+     */
+    boolean compactIfSparse();
+
+    /**
+     * Returns a read-only copy of the sequence as it is now.
+     * <p>
+     * The tasks keep their handles in the copy.
+     *
+     * @return Snapshot of the sequence.
+     */
+    TaskSequence snapshot();
+
+}
@@ -0,0 +1,273 @@
+package zbot;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+/**
+ * Represents a set of users, each with their own task file, sharing a bounded number of
+ * loaded task lists.
+ * <p>
+ * A user's tasks are loaded on their first command and kept while they are among the
+ * most recently used. When more users are loaded than allowed, the least recently used
+ * one that is not running a command is evicted and its unsaved changes are written to its
+ * file, and it is closed once saved. Changes are otherwise only saved by
+ * {@link #flushAll()} and {@link #close()}.
+ * <p>
+ * Loading happens outside the lock of the manager, once per user: concurrent commands
+ * for a user that is being loaded wait for that load. A user whose changes are still
+ * being saved after eviction is taken back as it is rather than loaded again.
+ */
+public class TenantManager {
+    private static final Pattern USER_ID = Pattern.compile("[A-Za-z0-9_-]+");
+    private static final String FILE_EXTENSION = ".txt";
+
+    private Path dataDirectory;
+    private int maxLoadedTenants;
+    private LinkedHashMap<String, Tenant> loaded = new LinkedHashMap<>(16, 0.75f, true);
+    private Map<String, Tenant> evicted = new HashMap<>();
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Constructor for TenantManager.
+     *
+     * @param dataDirectory    Directory holding a task file per user.
+     * @param maxLoadedTenants Maximum number of users whose tasks are kept loaded.
+     */
+    public TenantManager(Path dataDirectory, int maxLoadedTenants) {
+        assert maxLoadedTenants > 0 : "At least one tenant should be kept loaded.";
+        this.dataDirectory = dataDirectory;
+        this.maxLoadedTenants = maxLoadedTenants;
+    }
+
+    /**
+     * Executes the user input on the tasks of the given user.
+     *
+     * @param userId Id of the user, made of letters, digits, '_' and '-'.
+     * @param input  User input.
+     * @return Response to the user input.
+     * @throws IllegalArgumentException If the user id has other characters.
+     */
+    public String executeInput(String userId, String input) {
+        if (!USER_ID.matcher(userId).matches()) {
+            throw new IllegalArgumentException("Invalid user id: " + userId);
+        }
+
+        Tenant tenant = acquire(userId);
+        try {
+            return tenant.zbot.join().executeInput(input);
+        } finally {
+            release(tenant);
+        }
+    }
+
+    /**
+     * Saves the unsaved changes of every loaded user.
+     */
+    public void flushAll() {
+        List<Tenant> tenants;
+        synchronized (this) {
+            tenants = new ArrayList<>(loaded.values());
+        }
+
+        for (Tenant tenant : tenants) {
+            if (tenant.zbot.isDone() && !tenant.zbot.isCompletedExceptionally()) {
+                tenant.zbot.join().checkpoint();
+            }
+        }
+    }
+
+    /**
+     * Saves the unsaved changes of every user and releases their loaded tasks.
+     * <p>
+     * The manager must not be used after it is closed.
+     */
+    public void close() {
+        List<Tenant> tenants;
+        synchronized (this) {
+            tenants = new ArrayList<>(loaded.values());
+            tenants.addAll(evicted.values());
+            loaded.clear();
+            evicted.clear();
+        }
+
+        for (Tenant tenant : tenants) {
+            if (tenant.zbot.isDone() && !tenant.zbot.isCompletedExceptionally()) {
+                tenant.zbot.join().close();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of commands whose user was already loaded.
+     *
+     * @return Number of cache hits.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of commands whose user had to be loaded.
+     *
+     * @return Number of cache misses.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of users evicted to make room for others.
+     *
+     * @return Number of evictions.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of users whose tasks are loaded.
+     *
+     * @return Number of loaded users.
+     */
+    public synchronized int getLoadedCount() {
+        return loaded.size();
+    }
+
+    /**
+     * Returns the tenant of the user, starting to load it if needed, and marks it in use.
+     */
+    private Tenant acquire(String userId) {
+        Tenant tenant;
+        boolean isLoader = false;
+        List<Tenant> toFlush;
+
+        synchronized (this) {
+            tenant = loaded.get(userId);
+            if (tenant == null) {
+                tenant = evicted.remove(userId);
+                if (tenant != null) {
+                    tenant.isEvicted = false;
+                    hitCount++;
+                } else {
+                    tenant = new Tenant(userId);
+                    isLoader = true;
+                    missCount++;
+                }
+                loaded.put(userId, tenant);
+            } else {
+                hitCount++;
+            }
+            tenant.userCount++;
+            toFlush = evictExcess();
+        }
+
+        if (isLoader) {
+            String filePath = dataDirectory.resolve(userId + FILE_EXTENSION).toString();
+            try {
+                tenant.zbot.complete(new ZBot(filePath, true));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    loaded.remove(userId, tenant);
+                }
+                tenant.zbot.completeExceptionally(e);
+            }
+        }
+
+        for (Tenant evictedTenant : toFlush) {
+            flush(evictedTenant);
+        }
+        return tenant;
+    }
+
+    /**
+     * Marks the tenant no longer in use, evicting tenants that were kept over the limit
+     * only because they were in use.
+     */
+    private void release(Tenant tenant) {
+        List<Tenant> toFlush;
+        synchronized (this) {
+            tenant.userCount--;
+            toFlush = evictExcess();
+        }
+
+        for (Tenant evictedTenant : toFlush) {
+            flush(evictedTenant);
+        }
+    }
+
+    /**
+     * Evicts the least recently used tenants that are loaded and not in use until the
+     * limit is met. Must be called while holding this monitor.
+     *
+     * @return Evicted tenants to be saved.
+     */
+    private List<Tenant> evictExcess() {
+        List<Tenant> toFlush = new ArrayList<>();
+        Iterator<Tenant> iterator = loaded.values().iterator();
+
+        while (loaded.size() > maxLoadedTenants && iterator.hasNext()) {
+            Tenant tenant = iterator.next();
+            if (!tenant.zbot.isDone() || tenant.userCount > 0) {
+                continue;
+            }
+
+            iterator.remove();
+            evictionCount++;
+            if (tenant.zbot.isCompletedExceptionally()) {
+                continue;
+            }
+            tenant.isEvicted = true;
+            evicted.put(tenant.userId, tenant);
+            toFlush.add(tenant);
+        }
+        return toFlush;
+    }
+
+    /**
+     * Saves an evicted tenant and closes it once it has nothing left to save, unless it
+     * has been taken back meanwhile.
+     */
+    private void flush(Tenant tenant) {
+        ZBot zbot = tenant.zbot.join();
+        while (true) {
+            zbot.checkpoint();
+            synchronized (this) {
+                if (!tenant.isEvicted) {
+                    // Taken back meanwhile; a later eviction saves it
+                    return;
+                }
+                if (!zbot.hasUnsavedChanges()) {
+                    evicted.remove(tenant.userId, tenant);
+                    break;
+                }
+            }
+        }
+
+        // No longer reachable from the manager, so no command can use it any more
+        zbot.close();
+    }
+
+    /**
+     * Represents the loaded tasks of one user.
+     */
+    private static class Tenant {
+        private final String userId;
+        private final CompletableFuture<ZBot> zbot = new CompletableFuture<>();
+        private int userCount;
+        private boolean isEvicted;
+
+        Tenant(String userId) {
+            this.userId = userId;
+        }
+    }
+
+}
@@ -0,0 +1,369 @@
+package zbot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import zbot.task.Deadline;
+import zbot.task.Event;
+import zbot.task.Task;
+import zbot.task.ToDo;
+
+/**
+ * Represents a loader of text snapshots that reads the file in large windows and decodes
+ * them in place.
+ * <p>
+ * Lines are scanned byte by byte for {@code |} and line break delimiters, so no regular
+ * expressions or intermediate arrays of strings are created. Fields are decoded with the
+ * same rules as {@link Storage#decodeTask(String)}.
+ * <p>
+ * The file is read into a buffer owned by the loader rather than memory-mapped, so no
+ * mapping of the file outlives the load and keeps it from being replaced or rewritten.
+ * Files larger than the parallel threshold are split into line-aligned chunks that are
+ * parsed on the common fork-join pool and concatenated in order.
+ */
+class WindowedTaskLoader {
+    private static final int MAX_WINDOW_SIZE = 1 << 23;
+    private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Loads all tasks from the text snapshot at the given path on the calling thread.
+     *
+     * @param path Path of the snapshot file.
+     * @return ArrayList of tasks loaded from the file.
+     * @throws IOException            If the file cannot be read.
+     * @throws DateTimeParseException If a date in the file is in an invalid format.
+     */
+    static ArrayList<Task> load(Path path) throws IOException, DateTimeParseException {
+        return load(path, Long.MAX_VALUE);
+    }
+
+    /**
+     * Loads all tasks from the text snapshot at the given path, in parallel if the file is
+     * larger than the given threshold.
+     *
+     * @param path              Path of the snapshot file.
+     * @param parallelThreshold File size in bytes above which the file is parsed in parallel.
+     * @return ArrayList of tasks loaded from the file, in file order.
+     * @throws IOException            If the file cannot be read.
+     * @throws DateTimeParseException If a date in the file is in an invalid format.
+     */
+    static ArrayList<Task> load(Path path, long parallelThreshold) throws IOException, DateTimeParseException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            boolean isParallel = fileSize > parallelThreshold;
+            ByteBuffer window = ByteBuffer.allocate((int) Math.min(fileSize + 1, MAX_WINDOW_SIZE));
+            boolean isEndOfFile = false;
+
+            while (!isEndOfFile) {
+                isEndOfFile = fill(channel, window);
+                int limit = window.position();
+                int end = limit;
+
+                if (!isEndOfFile) {
+                    end = lastLineBreak(window, limit) + 1;
+                    if (end == 0) {
+                        window = grow(window, path);
+                        continue;
+                    }
+                }
+
+                if (isParallel) {
+                    parseInParallel(window, end, tasks);
+                } else {
+                    new RangeParser(window).parse(0, end, tasks);
+                }
+
+                // Keep the start of the line that continues in the next window
+                window.limit(limit).position(end);
+                window.compact();
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Reads from the channel until the buffer is full or the channel has no more bytes.
+     *
+     * @return True if the end of the channel was reached, false otherwise.
+     */
+    private static boolean fill(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a buffer twice as large with the content of the given full buffer, for a line
+     * that does not fit in it.
+     */
+    private static ByteBuffer grow(ByteBuffer buffer, Path path) throws IOException {
+        if (buffer.capacity() == MAX_BUFFER_SIZE) {
+            throw new IOException("Line is too long to be loaded: " + path);
+        }
+
+        ByteBuffer larger = ByteBuffer.allocate((int) Math.min(2L * buffer.capacity(), MAX_BUFFER_SIZE));
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    /**
+     * Parses the lines before the given end on the common fork-join pool.
+     *
+     * @param buffer Buffer holding the lines.
+     * @param end    Position after the last byte to parse.
+     * @param tasks  List to add the tasks to, in buffer order.
+     * @throws DateTimeParseException If a date in the buffer is in an invalid format.
+     */
+    private static void parseInParallel(ByteBuffer buffer, int end, ArrayList<Task> tasks)
+            throws DateTimeParseException {
+        int chunkCount = ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD;
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, end / chunkCount + 1);
+        List<ChunkTask> chunks = new ArrayList<>();
+        int chunkStart = 0;
+
+        while (chunkStart < end) {
+            int chunkEnd = nextLineStart(buffer, (int) Math.min((long) chunkStart + chunkSize, end), end);
+            chunks.add(new ChunkTask(buffer.duplicate(), chunkStart, chunkEnd));
+            chunkStart = chunkEnd;
+        }
+
+        ForkJoinTask.invokeAll(chunks);
+
+        int taskCount = tasks.size();
+        for (ChunkTask chunk : chunks) {
+            taskCount += chunk.join().size();
+        }
+        tasks.ensureCapacity(taskCount);
+        for (ChunkTask chunk : chunks) {
+            tasks.addAll(chunk.join());
+        }
+    }
+
+    /**
+     * Returns the position after the first line break at or after the given position, or the
+     * end if there is none.
+     */
+    private static int nextLineStart(ByteBuffer buffer, int position, int end) {
+        for (int i = position; i < end; i++) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Returns the position of the last line break before the given end, or -1 if there is none.
+     */
+    static int lastLineBreak(ByteBuffer buffer, int end) {
+        for (int i = end - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Represents the parsing of a line-aligned chunk of a buffer.
+     */
+    private static class ChunkTask extends RecursiveTask<List<Task>> {
+        private static final long serialVersionUID = 1L;
+
+        // Chunks are never serialized, and buffers cannot be
+        private transient ByteBuffer buffer;
+        private int start;
+        private int end;
+
+        ChunkTask(ByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected List<Task> compute() {
+            List<Task> tasks = new ArrayList<>();
+            new RangeParser(buffer).parse(start, end, tasks);
+            return tasks;
+        }
+    }
+
+    /**
+     * Represents a parser of the lines within a range of a buffer.
+     * <p>
+     * A parser keeps scratch space between lines and must not be shared between threads.
+     */
+    static class RangeParser {
+        private static final int MAX_FIELDS = 6;
+
+        private ByteBuffer buffer;
+        private int[] fieldStarts = new int[MAX_FIELDS];
+        private int[] fieldEnds = new int[MAX_FIELDS];
+        private int fieldCount;
+        private byte[] scratch = new byte[256];
+
+        /**
+         * Constructor for RangeParser.
+         *
+         * @param buffer Buffer holding the text snapshot.
+         */
+        RangeParser(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Parses every line between the given positions and adds the tasks to the list.
+         * <p>
+         * The range should start at the beginning of a line. Blank lines are skipped.
+         *
+         * @param start Position of the first byte of the range.
+         * @param end   Position after the last byte of the range.
+         * @param tasks List to add the tasks to.
+         * @throws DateTimeParseException If a date in the range is in an invalid format.
+         */
+        void parse(int start, int end, List<Task> tasks) throws DateTimeParseException {
+            int lineStart = start;
+
+            while (lineStart < end) {
+                int lineEnd = lineStart;
+                while (lineEnd < end && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+
+                int contentEnd = lineEnd;
+                if (contentEnd > lineStart && buffer.get(contentEnd - 1) == '\r') {
+                    contentEnd--;
+                }
+
+                if (contentEnd > lineStart) {
+                    tasks.add(parseLine(lineStart, contentEnd));
+                }
+                lineStart = lineEnd + 1;
+            }
+        }
+
+        /**
+         * Parses a single line into a task.
+         */
+        private Task parseLine(int start, int end) {
+            splitFields(start, end);
+            Task task = null;
+
+            if (isField(0, 'T')) {
+                assert fieldCount == 3 || fieldCount == 4;
+                task = fieldCount == 3
+                        ? new ToDo(getString(2))
+                        : new ToDo(getString(2), getString(3));
+            } else if (isField(0, 'D')) {
+                assert fieldCount == 4 || fieldCount == 5;
+                task = fieldCount == 4
+                        ? new Deadline(getString(2), getDateTime(3))
+                        : new Deadline(getString(2), getDateTime(3), getString(4));
+            } else if (isField(0, 'E')) {
+                assert fieldCount == 5 || fieldCount == 6;
+                task = fieldCount == 5
+                        ? new Event(getString(2), getDateTime(3), getDateTime(4))
+                        : new Event(getString(2), getDateTime(3), getDateTime(4), getString(5));
+            }
+
+            assert task != null : "Task should not be null.";
+
+            if (isField(1, '1')) {
+                task.markAsDone();
+            }
+            return task;
+        }
+
+        /**
+         * Records the bounds of up to six fields, leaving any further delimiters in the last one.
+         */
+        private void splitFields(int start, int end) {
+            fieldCount = 0;
+            fieldStarts[0] = start;
+
+            for (int i = start; i < end && fieldCount < MAX_FIELDS - 1; i++) {
+                if (buffer.get(i) == '|') {
+                    fieldEnds[fieldCount] = i;
+                    fieldCount++;
+                    fieldStarts[fieldCount] = i + 1;
+                }
+            }
+
+            fieldEnds[fieldCount] = end;
+            fieldCount++;
+        }
+
+        private boolean isField(int field, char c) {
+            return field < fieldCount
+                    && fieldEnds[field] - fieldStarts[field] == 1
+                    && buffer.get(fieldStarts[field]) == c;
+        }
+
+        private String getString(int field) {
+            int length = fieldEnds[field] - fieldStarts[field];
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+
+            buffer.get(fieldStarts[field], scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Decodes a date field, falling back to {@link Parser#parseDateTime(String)} for
+         * anything other than a well-formed {@code dd/MM/yyyy[ HHmm]} date.
+         */
+        private LocalDateTime getDateTime(int field) throws DateTimeParseException {
+            int start = fieldStarts[field];
+            int length = fieldEnds[field] - start;
+
+            if ((length == 10 || length == 15) && buffer.get(start + 2) == '/' && buffer.get(start + 5) == '/'
+                    && (length == 10 || buffer.get(start + 10) == ' ')) {
+                LocalDateTime dateTime = Parser.toDateTime(getDigits(start + 6, 4), getDigits(start + 3, 2),
+                        getDigits(start, 2),
+                        length == 10 ? 23 : getDigits(start + 11, 2),
+                        length == 10 ? 59 : getDigits(start + 13, 2));
+                if (dateTime != null) {
+                    return dateTime;
+                }
+            }
+
+            return Parser.parseDateTime(getString(field));
+        }
+
+        /**
+         * Returns the value of the given number of decimal digits, or -1 if any is not a digit.
+         */
+        private int getDigits(int start, int count) {
+            int value = 0;
+            for (int i = start; i < start + count; i++) {
+                byte b = buffer.get(i);
+                if (b < '0' || b > '9') {
+                    return -1;
+                }
+                value = value * 10 + (b - '0');
+            }
+            return value;
+        }
+    }
+
+}
@@ -0,0 +1,146 @@
+package zbot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents a background worker that coalesces save requests into a single write.
+ * <p>
+ * Pending records are written once the oldest one has waited for the maximum delay, or
+ * as soon as the maximum number of pending mutations is reached, whichever comes first.
+ * <p>
+ * A flush takes the pending records and, if a snapshot is due, a snapshot of the task
+ * list while holding the monitor of the task list. Callers that mutate the task list
+ * under the same monitor therefore never have a mutation in the snapshot before its
+ * record is taken from the queue. The writing itself happens outside the monitor.
+ */
+class WriteBehindSaver {
+    private Storage storage;
+    private long maxDelayMillis;
+    private int maxPendingMutations;
+    private ScheduledExecutorService executor;
+    private Thread shutdownHook;
+    private Object flushLock = new Object();
+
+    private List<String> pendingRecords = new ArrayList<>();
+    private TaskList pendingTasks;
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Constructor for WriteBehindSaver.
+     * <p>
+     * Registers a shutdown hook that flushes pending records when the JVM exits, until the
+     * saver is closed.
+     *
+     * @param storage             Storage to write to.
+     * @param maxDelayMillis      Maximum time a record may stay pending, in milliseconds.
+     * @param maxPendingMutations Number of pending records that triggers an immediate flush.
+     */
+    WriteBehindSaver(Storage storage, long maxDelayMillis, int maxPendingMutations) {
+        this.storage = storage;
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxPendingMutations = maxPendingMutations;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "zbot-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.shutdownHook = new Thread(this::flush, "zbot-write-behind-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Queues a record to be written in the next flush.
+     *
+     * @param tasks  Tasks after the mutation.
+     * @param record Journal record describing the mutation.
+     */
+    synchronized void submit(TaskList tasks, String record) {
+        pendingRecords.add(record);
+        pendingTasks = tasks;
+
+        if (pendingRecords.size() >= maxPendingMutations) {
+            cancelScheduledFlush();
+            scheduledFlush = executor.schedule(this::flush, 0, TimeUnit.MILLISECONDS);
+        } else if (scheduledFlush == null) {
+            scheduledFlush = executor.schedule(this::flush, maxDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes all pending records on the calling thread.
+     * <p>
+     * Concurrent flushes are serialized so that batches are written in order.
+     */
+    void flush() {
+        synchronized (flushLock) {
+            TaskList tasks;
+            synchronized (this) {
+                tasks = pendingTasks;
+            }
+
+            if (tasks == null) {
+                return;
+            }
+
+            List<String> records;
+            TaskList snapshot = null;
+            synchronized (tasks) {
+                synchronized (this) {
+                    cancelScheduledFlush();
+                    records = pendingRecords;
+                    pendingRecords = new ArrayList<>();
+                }
+
+                if (!records.isEmpty() && storage.isSnapshotDue(records)) {
+                    snapshot = tasks.snapshot();
+                }
+            }
+
+            if (!records.isEmpty()) {
+                storage.writeRecords(snapshot, records);
+            }
+        }
+    }
+
+    /**
+     * Writes all pending records, then stops the background thread and removes the shutdown
+     * hook, so that neither keeps the saver and its storage alive.
+     * <p>
+     * Records must not be submitted after the saver is closed.
+     */
+    void close() {
+        flush();
+        executor.shutdown();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // The JVM is already shutting down, and the hook flushes nothing more
+        }
+    }
+
+    /**
+     * Returns the number of records waiting to be written.
+     *
+     * @return Number of pending records.
+     */
+    synchronized int getPendingCount() {
+        return pendingRecords.size();
+    }
+
+    /**
+     * Cancels the scheduled flush, if any. Must be called while holding this monitor.
+     */
+    private void cancelScheduledFlush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+
+}
@@ -1,21 +1,36 @@
 package zbot;
 
-import java.time.format.DateTimeParseException;
-
-import zbot.task.Deadline;
-import zbot.task.Event;
-import zbot.task.Task;
-import zbot.task.ToDo;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import zbot.command.Command;
+import zbot.command.CommandContext;
+import zbot.command.CommandRegistry;
+import zbot.command.ParsedCommand;
+import zbot.metrics.CommandEvent;
+import zbot.metrics.Metrics;
 import zbot.ui.Ui;
 
 /**
  * Represents the main class of the ZBot application.
  */
 public class ZBot {
-    private static final String DEFAULT_FILE_PATH = "./data/tasks.txt";
+    static final String DEFAULT_FILE_PATH = "./data/tasks.txt";
+    private static final long SAVE_DELAY_MILLIS = 200;
+    private static final int MAX_PENDING_SAVES = 256;
+    private static final String INVALID_COMMAND_NAME = "(invalid)";
     private Storage storage;
     private TaskList tasks;
     private Ui ui;
+    private CommandRegistry commands = CommandRegistry.createDefault();
+    private CommandContext context;
+    private ReadWriteLock commandLock = new ReentrantReadWriteLock();
+    private Metrics metrics = new Metrics();
+    private String loadErrorMsg;
 
     /**
      * Constructor for ZBot.
@@ -23,15 +38,41 @@ public class ZBot {
      * @param filepath Path of the file to store tasks.
      */
     public ZBot(String filepath) {
+        this(filepath, false);
+    }
+
+    /**
+     * Constructor for ZBot with optional headless saving.
+     *
+     * @param filepath   Path of the file to store tasks.
+     * @param isHeadless True if changes should only be saved at the checkpoints of
+     *                   {@link #runBatch(BufferedReader, Writer, int)}, false if they
+     *                   should be saved in the background shortly after each change.
+     */
+    public ZBot(String filepath, boolean isHeadless) {
         ui = new Ui();
-        storage = new Storage(filepath);
+        storage = new Storage(filepath, true);
+        storage.setMetrics(metrics);
+        if (isHeadless) {
+            storage.deferSaves();
+        } else {
+            storage.enableWriteBehind(SAVE_DELAY_MILLIS, MAX_PENDING_SAVES);
+            metrics.registerMBean(filepath);
+        }
 
         try {
-            tasks = new TaskList(storage.load());
+            tasks = new TaskList(storage.load(), TaskList.Backing.CONCURRENT);
         } catch (ZBotException e) {
-            ui.printLoadingError();
-            tasks = new TaskList();
+            if (storage.isReadOnly()) {
+                loadErrorMsg = ui.generateReadOnlyMsg(e.getMessage());
+                ui.printReadOnlyError(e.getMessage());
+            } else {
+                ui.printLoadingError();
+            }
+            tasks = new TaskList(new ArrayList<>(), TaskList.Backing.CONCURRENT);
         }
+
+        context = new CommandContext(tasks, storage, ui, metrics);
     }
 
     /**
@@ -56,212 +97,221 @@ public class ZBot {
             input = ui.readUserInput();
         }
 
+        close();
         ui.outro();
     }
 
     /**
-     * Executes the user input.
-     *
-     * The input is processed and the corresponding action is taken.
+     * Returns the message explaining why the saved data could not be loaded.
      *
-     * @param input User input.
-     * @return Response to the user input.
+     * @return The error message, or null if the saved data was loaded or none was found.
      */
-    public String executeInput(String input) {
-        String response;
-
-        if (input.equals("list")) {
-            response = listTasks();
-        } else if (input.startsWith("mark")) {
-            response = markTask(input, ui);
-            storage.save(tasks);
-        } else if (input.startsWith("unmark")) {
-            response = unmarkTask(input, ui);
-            storage.save(tasks);
-        } else if (input.startsWith("todo") || input.startsWith("deadline") || input.startsWith("event")) {
-            response = addTask(input, ui);
-            storage.save(tasks);
-        } else if (input.startsWith("delete")) {
-            response = deleteTask(input, ui);
-            storage.save(tasks);
-        } else if (input.startsWith("find")) {
-            response = findTask(input, ui);
-        } else if (input.startsWith("note")) {
-            response = addNoteToTask(input, ui);
-            storage.save(tasks);
-        } else {
-            response = "Invalid command!";
-        }
-
-        return response;
+    public String getLoadErrorMsg() {
+        return loadErrorMsg;
     }
 
     /**
-     * Adds a task to the task list.
-     *
-     * @param input User input.
-     * @param ui    User interface of the chatbot.
+     * Saves any changes that are waiting to be written.
      */
-    public String addTask(String input, Ui ui) {
-        Task task = null;
-        String response = "";
-        String[] taskComponents = input.split(" ", 2);
+    public void flush() {
+        storage.flush();
+    }
 
+    /**
+     * Saves the changes deferred by a headless ZBot, if any.
+     */
+    public void checkpoint() {
+        commandLock.writeLock().lock();
         try {
-            if (taskComponents[0].equals("deadline")) {
-                String[] descriptionDateSplit = taskComponents[1].split(" /by ", 2);
-                task = new Deadline(descriptionDateSplit[0], Parser.parseDateTime(descriptionDateSplit[1]));
-            } else if (taskComponents[0].equals("event")) {
-                String[] descriptionDateSplit = taskComponents[1].split(" /from ", 2);
-                String[] fromToSplit = descriptionDateSplit[1].split(" /to ", 2);
-                task = new Event(descriptionDateSplit[0],
-                        Parser.parseDateTime(fromToSplit[0]),
-                        Parser.parseDateTime(fromToSplit[1]));
-            } else if (taskComponents[0].equals("todo")) {
-                task = new ToDo(taskComponents[1]);
-            }
-
-            assert task != null : "Task should not be null.";
-
-            tasks.add(task);
-            response = ui.generateAddTaskMsg(task, tasks.size());
-        } catch (ArrayIndexOutOfBoundsException e) {
-            response = "Please enter a valid task format!\n";
-        } catch (DateTimeParseException e) {
-            response = "Please enter a valid date and time format (dd/MM/yyyy HHmm, dd/MM/yyyy)!\n";
+            storage.checkpoint(tasks);
+        } finally {
+            commandLock.writeLock().unlock();
         }
-
-        return response;
     }
 
     /**
-     * Lists all tasks in the task list.
+     * Saves all changes, stops the background saving thread and unregisters the metrics
+     * from JMX, if any.
+     * <p>
+     * Changes made after this call are saved on the thread that makes them.
      */
-    public String listTasks() {
-        StringBuilder response = new StringBuilder();
-
-        response.append("Here are the tasks in your list:\n");
-        for (int i = 0; i < tasks.size(); i++) {
-            response.append(String.format("%d. %s\n", i + 1, tasks.get(i)));
-        }
-
-        return response.toString();
+    public void close() {
+        checkpoint();
+        storage.close();
+        metrics.unregisterMBean();
     }
 
     /**
-     * Modifies a task in the task list.
+     * Returns whether a headless ZBot has changes that are not saved yet.
      *
-     * @param input User input.
-     * @param ui    User interface of the chatbot.
-     * @return Response to the user input.
+     * @return True if there are unsaved changes, false otherwise.
      */
-    private String modifyTask(String input, Ui ui) {
-        String response = "";
-        Task task = null;
-
-        String[] taskActionIndexSplit = input.split(" ");
-        int taskIndex = Integer.parseInt(taskActionIndexSplit[1]);
-
+    public boolean hasUnsavedChanges() {
+        commandLock.readLock().lock();
         try {
-            if (taskActionIndexSplit[0].equals("mark")) {
-                task = tasks.get(taskIndex - 1);
-                task.markAsDone();
-                response = ui.generateMarkTaskMsg(task);
-            } else if (taskActionIndexSplit[0].equals("unmark")) {
-                task = tasks.get(taskIndex - 1);
-                task.markAsUndone();
-                response = ui.generateUnmarkTaskMsg(task);
-            } else if (taskActionIndexSplit[0].equals("delete")) {
-                task = tasks.remove(taskIndex - 1);
-                response = ui.generateDeleteTaskMsg(task, tasks.size());
-            } else {
-                assert false;
-            }
-
-        } catch (NullPointerException | NumberFormatException | ArrayIndexOutOfBoundsException e) {
-            response = "Please enter a valid task number!\n";
+            return storage.hasDeferredMutations();
+        } finally {
+            commandLock.readLock().unlock();
         }
-
-        return response;
     }
 
     /**
-     * Marks a task as done.
+     * Executes the user input.
+     *
+     * The input is parsed into a command, which is looked up by name and executed. Commands
+     * that change the task list run while holding its monitor, which background saves also
+     * hold, so that every change is saved together with the tasks it was made to.
      *
      * @param input User input.
-     * @param ui    User interface of the chatbot.
+     * @return Response to the user input.
      */
-    public String markTask(String input, Ui ui) {
-        return modifyTask(input, ui);
+    public String executeInput(String input) {
+        return execute(parseInput(input));
     }
 
     /**
-     * Marks a task as not done.
+     * Parses the user input into a command without executing it.
      *
      * @param input User input.
-     * @param ui    User interface of the chatbot.
+     * @return Parsed user input.
      */
-    public String unmarkTask(String input, Ui ui) {
-        return modifyTask(input, ui);
+    public ParsedCommand parseInput(String input) {
+        return commands.parse(input);
     }
 
     /**
-     * Deletes a task from the task list.
+     * Runs the commands read from the reader until it ends or a line reads "bye".
+     * <p>
+     * Each response is written to the writer as its command produces it. Changes are
+     * saved after every given number of commands that change the task list, and once more
+     * at the end.
      *
-     * @param input User input.
-     * @param ui    User interface of the chatbot.
+     * @param reader             Reader of commands, one per line.
+     * @param writer             Writer of responses, each followed by a line break.
+     * @param checkpointInterval Number of changing commands between saves.
+     * @return Number of commands executed.
+     * @throws IOException If the commands cannot be read or the responses cannot be written.
      */
-    public String deleteTask(String input, Ui ui) {
-        return modifyTask(input, ui);
+    public long runBatch(BufferedReader reader, Writer writer, int checkpointInterval) throws IOException {
+        assert checkpointInterval > 0 : "Checkpoint interval should be positive.";
+
+        long commandCount = 0;
+        int uncheckedCount = 0;
+        String input = reader.readLine();
+
+        while (input != null && !input.equals("bye")) {
+            ParsedCommand parsedCommand = commands.parse(input);
+            execute(parsedCommand, writer);
+            writer.write('\n');
+            commandCount++;
+
+            if (parsedCommand.isMutating() && ++uncheckedCount >= checkpointInterval) {
+                storage.checkpoint(tasks);
+                uncheckedCount = 0;
+            }
+            input = reader.readLine();
+        }
+
+        writer.flush();
+        storage.checkpoint(tasks);
+        storage.flush();
+        return commandCount;
     }
 
     /**
-     * Finds tasks with the given keyword.
+     * Executes a parsed command, recording its duration if metrics are enabled.
+     * <p>
+     * Commands that change the task list hold the write lock. Other commands run on a
+     * snapshot of the task list without locking, so they never wait for or hold up a
+     * command that changes it, and never see one halfway, such as between finding tasks
+     * and listing them.
      *
-     * @param input User input.
-     * @param ui    User interface of the chatbot.
+     * @param parsedCommand Parsed user input.
+     * @return Response to the user input.
      */
-    public String findTask(String input, Ui ui) {
-        StringBuilder response = new StringBuilder();
-
-        String keyword = input.split(" ", 2)[1];
-        int tasksFound = 0;
-        for (int i = 0; i < tasks.size(); i++) {
-            if (!tasks.get(i).getDescription().contains(keyword)) {
-                continue;
-            }
-
-            response.append(String.format("%d. %s\n", i + 1, tasks.get(i)));
-            tasksFound++;
+    public String execute(ParsedCommand parsedCommand) {
+        Command command = parsedCommand.getCommand();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        CommandEvent event = new CommandEvent();
+        event.begin();
+
+        if (command == null) {
+            complete(INVALID_COMMAND_NAME, false, start, event);
+            return "Invalid command!";
         }
 
-        if (tasksFound == 0) {
-            response.append("No tasks found.");
+        if (!command.isMutating()) {
+            try {
+                return command.execute(parsedCommand, createQueryContext());
+            } finally {
+                complete(parsedCommand.getName(), false, start, event);
+            }
         }
 
-        return response.toString();
+        commandLock.writeLock().lock();
+        try {
+            synchronized (tasks) {
+                return command.execute(parsedCommand, context);
+            }
+        } finally {
+            commandLock.writeLock().unlock();
+            complete(parsedCommand.getName(), true, start, event);
+        }
     }
 
     /**
-     * Adds a note to a task.
+     * Executes a parsed command, writing the response to the output as it is produced.
+     * <p>
+     * Commands that only read the task list write their response as they render it from a
+     * snapshot, so that long lists are never held in memory whole and a slow output never
+     * holds up a command that changes the task list. Other commands produce their response
+     * first, as in {@link #execute(ParsedCommand)}.
      *
-     * @param input User input.
-     * @param ui    User interface of the chatbot.
+     * @param parsedCommand Parsed user input.
+     * @param out           Output to write the response to.
+     * @throws IOException If the response cannot be written.
      */
-    public String addNoteToTask(String input, Ui ui) {
-        String response = "";
-        String[] taskNoteSplit = input.split(" ", 2);
-        int taskIndex = Integer.parseInt(taskNoteSplit[1].split(" ", 2)[0]);
-        String noteContent = taskNoteSplit[1].split(" ", 2)[1];
+    public void execute(ParsedCommand parsedCommand, Appendable out) throws IOException {
+        Command command = parsedCommand.getCommand();
+        if (command == null || command.isMutating()) {
+            out.append(execute(parsedCommand));
+            return;
+        }
 
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        CommandEvent event = new CommandEvent();
+        event.begin();
         try {
-            tasks.get(taskIndex - 1).addNote(noteContent);
-            response = ui.generateAddNoteMsg(tasks.get(taskIndex - 1));
-        } catch (NullPointerException | NumberFormatException | ArrayIndexOutOfBoundsException e) {
-            response = "Please enter a valid task number!\n";
+            command.execute(parsedCommand, createQueryContext(), out);
+        } finally {
+            complete(parsedCommand.getName(), false, start, event);
         }
+    }
+
+    /**
+     * Returns a context for a command that only reads, over a snapshot of the task list.
+     */
+    private CommandContext createQueryContext() {
+        return new CommandContext(tasks.snapshot(), storage, ui, metrics);
+    }
 
-        return response;
+    /**
+     * Records the duration of a command in the metrics and the flight recording, if
+     * either is recording.
+     *
+     * @param name       Name of the command.
+     * @param isMutating True if the command changes the task list.
+     * @param start      Time the command started in nanoseconds, or 0 if metrics are disabled.
+     * @param event      Flight recorder event begun when the command started.
+     */
+    private void complete(String name, boolean isMutating, long start, CommandEvent event) {
+        if (start != 0) {
+            metrics.recordCommand(name, System.nanoTime() - start);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit(name, isMutating, tasks.size());
+        }
     }
 
 }
@@ -0,0 +1,85 @@
+package zbot.command;
+
+import java.time.format.DateTimeParseException;
+
+import zbot.Parser;
+import zbot.TaskList;
+import zbot.task.Deadline;
+import zbot.task.Event;
+import zbot.task.Task;
+import zbot.task.ToDo;
+
+/**
+ * Represents the commands that add a todo, deadline or event to the task list.
+ */
+public class AddCommand implements Command {
+    /**
+     * Represents the type of task to add.
+     */
+    public enum Type {
+        TODO,
+        DEADLINE,
+        EVENT
+    }
+
+    private Type type;
+
+    /**
+     * Constructor for AddCommand.
+     *
+     * @param type Type of task to add.
+     */
+    public AddCommand(Type type) {
+        this.type = type;
+    }
+
+    @Override
+    public String execute(ParsedCommand command, CommandContext context) {
+        String description = command.getBody();
+        Task task;
+
+        try {
+            if (description == null || description.isBlank()) {
+                return context.getUi().generateInvalidFormatMsg();
+            } else if (type == Type.DEADLINE) {
+                String by = command.getFlag("by");
+                if (by == null) {
+                    return context.getUi().generateInvalidFormatMsg();
+                }
+                task = new Deadline(description, Parser.parseDateTime(by));
+            } else if (type == Type.EVENT) {
+                String from = command.getFlag("from");
+                String to = command.getFlag("to");
+                if (from == null || to == null) {
+                    return context.getUi().generateInvalidFormatMsg();
+                }
+                task = new Event(description, Parser.parseDateTime(from), Parser.parseDateTime(to));
+            } else {
+                task = new ToDo(description);
+            }
+        } catch (DateTimeParseException e) {
+            return context.getUi().generateInvalidDateMsg();
+        }
+
+        TaskList tasks = context.getTasks();
+        tasks.add(task);
+        context.getStorage().saveAdd(tasks, task);
+        return context.getUi().generateAddTaskMsg(task, tasks.size());
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
+    @Override
+    public String[] getFlags() {
+        if (type == Type.DEADLINE) {
+            return new String[] {"by"};
+        } else if (type == Type.EVENT) {
+            return new String[] {"from", "to"};
+        }
+        return new String[0];
+    }
+
+}
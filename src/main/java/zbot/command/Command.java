@@ -0,0 +1,55 @@
+package zbot.command;
+
+import java.io.IOException;
+
+/**
+ * Represents a command that the user can enter.
+ */
+public interface Command {
+
+    /**
+     * Executes the command.
+     *
+     * @param command Parsed user input.
+     * @param context Task list, storage and user interface to execute the command with.
+     * @return Response to the user input.
+     */
+    String execute(ParsedCommand command, CommandContext context);
+
+    /**
+     * Executes the command, writing the response to the output.
+     * <p>
+     * By default, the whole response is produced before it is written. Commands with long
+     * responses write them as they are produced instead.
+     *
+     * @param command Parsed user input.
+     * @param context Task list, storage and user interface to execute the command with.
+     * @param out     Output to write the response to.
+     * @throws IOException If the response cannot be written.
+     */
+    default void execute(ParsedCommand command, CommandContext context, Appendable out) throws IOException {
+        out.append(execute(command, context));
+    }
+
+    /**
+     * Returns true if the command changes the task list.
+     * <p>
+     * Only commands that change the task list persist it and hold the task list monitor.
+     *
+     * @return True if the command changes the task list, false otherwise.
+     */
+    boolean isMutating();
+
+    /**
+     * Returns the flags that the command takes, in the order they must appear.
+     * <p>
+     * A flag is written as {@code /name} followed by a space, and is only recognized at
+     * the start of the arguments or after a space.
+     *
+     * @return Names of the flags, without the leading slash.
+     */
+    default String[] getFlags() {
+        return new String[0];
+    }
+
+}
@@ -0,0 +1,79 @@
+package zbot.command;
+
+import zbot.Storage;
+import zbot.TaskList;
+import zbot.metrics.Metrics;
+import zbot.ui.Ui;
+
+/**
+ * Represents what commands are executed with.
+ */
+public class CommandContext {
+    private TaskList tasks;
+    private Storage storage;
+    private Ui ui;
+    private Metrics metrics;
+
+    /**
+     * Constructor for CommandContext.
+     *
+     * @param tasks   Task list to execute commands on.
+     * @param storage Storage to persist changes to.
+     * @param ui      User interface to generate responses with.
+     */
+    public CommandContext(TaskList tasks, Storage storage, Ui ui) {
+        this(tasks, storage, ui, new Metrics());
+    }
+
+    /**
+     * Constructor for CommandContext with the given metrics.
+     *
+     * @param tasks   Task list to execute commands on.
+     * @param storage Storage to persist changes to.
+     * @param ui      User interface to generate responses with.
+     * @param metrics Metrics recorded while executing commands.
+     */
+    public CommandContext(TaskList tasks, Storage storage, Ui ui, Metrics metrics) {
+        this.tasks = tasks;
+        this.storage = storage;
+        this.ui = ui;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the task list.
+     *
+     * @return Task list to execute commands on.
+     */
+    public TaskList getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns the storage.
+     *
+     * @return Storage to persist changes to.
+     */
+    public Storage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Returns the user interface.
+     *
+     * @return User interface to generate responses with.
+     */
+    public Ui getUi() {
+        return ui;
+    }
+
+    /**
+     * Returns the metrics.
+     *
+     * @return Metrics recorded while executing commands.
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+}
@@ -0,0 +1,67 @@
+package zbot.command;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents the commands that the user can enter, keyed by name.
+ */
+public class CommandRegistry {
+    private Map<String, Command> commands = new HashMap<>();
+
+    /**
+     * Returns a registry with all the commands of ZBot.
+     *
+     * @return Registry with the default commands.
+     */
+    public static CommandRegistry createDefault() {
+        CommandRegistry registry = new CommandRegistry();
+        registry.register("list", new ListCommand());
+        registry.register("todo", new AddCommand(AddCommand.Type.TODO));
+        registry.register("deadline", new AddCommand(AddCommand.Type.DEADLINE));
+        registry.register("event", new AddCommand(AddCommand.Type.EVENT));
+        registry.register("mark", new MarkCommand(true));
+        registry.register("unmark", new MarkCommand(false));
+        registry.register("delete", new DeleteCommand());
+        registry.register("note", new NoteCommand());
+        registry.register("find", new FindCommand());
+        registry.register("due", new DueCommand());
+        registry.register("events", new EventsCommand());
+        registry.register("stats", new StatsCommand());
+        return registry;
+    }
+
+    /**
+     * Registers a command under the given name, replacing any command with the same name.
+     *
+     * @param name    Name of the command.
+     * @param command Command to register.
+     */
+    public void register(String name, Command command) {
+        assert name.indexOf(' ') < 0 : "Command names should not contain spaces.";
+        commands.put(name, command);
+    }
+
+    /**
+     * Returns the command with the given name.
+     *
+     * @param name Name of the command.
+     * @return Command with the given name, or null if there is none.
+     */
+    public Command get(String name) {
+        return commands.get(name);
+    }
+
+    /**
+     * Parses user input into the named command and its arguments.
+     *
+     * @param input User input.
+     * @return Parsed user input, whose command is null if the name is unknown.
+     */
+    public ParsedCommand parse(String input) {
+        int nameEnd = CommandTokenizer.findNameEnd(input);
+        Command command = commands.get(input.substring(0, nameEnd));
+        return CommandTokenizer.tokenize(input, nameEnd, command);
+    }
+
+}
@@ -0,0 +1,77 @@
+package zbot.command;
+
+/**
+ * Represents a tokenizer that splits user input into a {@link ParsedCommand}.
+ * <p>
+ * The input is scanned once. The name ends at the first space, and the flags of the named
+ * command are then looked for in the order the command declares them. The value of each
+ * flag runs until the next flag, or until the end of the input for the last flag.
+ */
+class CommandTokenizer {
+
+    /**
+     * Returns the end of the command name at the start of the input.
+     *
+     * @param input User input.
+     * @return Position after the last character of the name.
+     */
+    static int findNameEnd(String input) {
+        int nameEnd = input.indexOf(' ');
+        return nameEnd < 0 ? input.length() : nameEnd;
+    }
+
+    /**
+     * Splits the input into the body and flags of the given command.
+     *
+     * @param input   User input.
+     * @param nameEnd Position after the last character of the name.
+     * @param command Command with the name at the start of the input, or null if there is none.
+     * @return Parsed user input.
+     */
+    static ParsedCommand tokenize(String input, int nameEnd, Command command) {
+        String name = input.substring(0, nameEnd);
+        String[] flags = command == null ? new String[0] : command.getFlags();
+        String[] flagValues = new String[flags.length];
+
+        if (nameEnd >= input.length()) {
+            return new ParsedCommand(command, name, null, null, flags, flagValues);
+        }
+
+        int argumentsStart = nameEnd + 1;
+        int bodyEnd = input.length();
+        int valueStart = -1;
+        int currentFlag = -1;
+        int nextFlag = 0;
+
+        for (int i = argumentsStart; i < input.length() && nextFlag < flags.length; i++) {
+            if (input.charAt(i) != '/' || (i > argumentsStart && input.charAt(i - 1) != ' ')) {
+                continue;
+            }
+
+            String flag = flags[nextFlag];
+            int flagEnd = i + 1 + flag.length();
+            if (flagEnd < input.length() && input.charAt(flagEnd) == ' '
+                    && input.regionMatches(i + 1, flag, 0, flag.length())) {
+                // The space before a flag belongs to neither the body nor the previous value
+                int end = i > argumentsStart ? i - 1 : i;
+                if (currentFlag < 0) {
+                    bodyEnd = end;
+                } else {
+                    flagValues[currentFlag] = input.substring(valueStart, end);
+                }
+
+                currentFlag = nextFlag++;
+                valueStart = flagEnd + 1;
+                i = flagEnd;
+            }
+        }
+
+        if (currentFlag >= 0) {
+            flagValues[currentFlag] = input.substring(valueStart);
+        }
+
+        return new ParsedCommand(command, name, input.substring(argumentsStart),
+                input.substring(argumentsStart, bodyEnd), flags, flagValues);
+    }
+
+}
@@ -0,0 +1,44 @@
+package zbot.command;
+
+import zbot.TaskList;
+import zbot.task.Task;
+
+/**
+ * Represents the command that deletes tasks from the task list.
+ * <p>
+ * A single task number echoes the deleted task. Any other selector, such as
+ * {@code 4,9,12} or {@code done}, removes every selected task in one pass and reports
+ * how many were removed.
+ */
+public class DeleteCommand implements Command {
+
+    @Override
+    public String execute(ParsedCommand command, CommandContext context) {
+        String selector = command.getBody();
+        TaskList tasks = context.getTasks();
+
+        try {
+            if (selector != null && TaskSelector.isBatch(selector)) {
+                int[] indices = TaskSelector.select(selector, tasks);
+                tasks.removeAll(indices);
+                if (indices.length > 0) {
+                    context.getStorage().saveDeleteAll(tasks, indices);
+                }
+                return context.getUi().generateDeleteTasksMsg(indices.length, tasks.size());
+            }
+
+            int index = command.getTaskIndex();
+            Task task = tasks.remove(index);
+            context.getStorage().saveDelete(tasks, index);
+            return context.getUi().generateDeleteTaskMsg(task, tasks.size());
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return context.getUi().generateInvalidTaskNumberMsg();
+        }
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
+}
@@ -0,0 +1,43 @@
+package zbot.command;
+
+import java.time.format.DateTimeParseException;
+
+import zbot.Parser;
+import zbot.TaskList;
+
+/**
+ * Represents the command that finds deadlines by due datetime.
+ * <p>
+ * {@code due /before DATE [TIME]} finds deadlines due before the datetime and
+ * {@code due /from DATE [TIME] /to DATE [TIME]} finds deadlines due within the range.
+ */
+public class DueCommand extends QueryCommand {
+
+    @Override
+    public String execute(ParsedCommand command, CommandContext context) {
+        String body = command.getBody();
+        String from = command.getFlag("from");
+        String to = command.getFlag("to");
+        TaskList tasks = context.getTasks();
+
+        try {
+            if (body != null && body.startsWith("/before ")) {
+                return listMatches(tasks, tasks.findDeadlinesBefore(
+                        Parser.parseDateTime(body.substring("/before ".length()))));
+            } else if (from != null && to != null && body.isEmpty()) {
+                return listMatches(tasks, tasks.findDeadlinesBetween(
+                        Parser.parseDateTime(from), Parser.parseDateTime(to)));
+            }
+        } catch (DateTimeParseException e) {
+            return context.getUi().generateInvalidDateMsg();
+        }
+
+        return context.getUi().generateInvalidFormatMsg();
+    }
+
+    @Override
+    public String[] getFlags() {
+        return new String[] {"from", "to"};
+    }
+
+}
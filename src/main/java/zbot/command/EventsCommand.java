@@ -0,0 +1,36 @@
+package zbot.command;
+
+import java.time.format.DateTimeParseException;
+
+import zbot.Parser;
+import zbot.TaskList;
+
+/**
+ * Represents the command that finds events overlapping the range given as
+ * {@code events /from DATE [TIME] /to DATE [TIME]}.
+ */
+public class EventsCommand extends QueryCommand {
+
+    @Override
+    public String execute(ParsedCommand command, CommandContext context) {
+        String from = command.getFlag("from");
+        String to = command.getFlag("to");
+        if (from == null || to == null || !command.getBody().isEmpty()) {
+            return context.getUi().generateInvalidFormatMsg();
+        }
+
+        TaskList tasks = context.getTasks();
+        try {
+            return listMatches(tasks, tasks.findEventsOverlapping(
+                    Parser.parseDateTime(from), Parser.parseDateTime(to)));
+        } catch (DateTimeParseException e) {
+            return context.getUi().generateInvalidDateMsg();
+        }
+    }
+
+    @Override
+    public String[] getFlags() {
+        return new String[] {"from", "to"};
+    }
+
+}
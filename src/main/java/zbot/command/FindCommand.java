@@ -0,0 +1,34 @@
+package zbot.command;
+
+import zbot.TaskList;
+
+/**
+ * Represents the command that finds tasks with the given keyword.
+ * <p>
+ * {@code find /word WORD} matches whole words and {@code find /prefix PREFIX} matches
+ * words starting with the prefix. Otherwise, tasks whose description contains the
+ * keyword are matched.
+ */
+public class FindCommand extends QueryCommand {
+
+    @Override
+    public String execute(ParsedCommand command, CommandContext context) {
+        String keyword = command.getArguments();
+        if (keyword == null) {
+            return context.getUi().generateInvalidFormatMsg();
+        }
+
+        TaskList tasks = context.getTasks();
+        int[] indices;
+        if (keyword.startsWith("/word ")) {
+            indices = tasks.findByWord(keyword.substring("/word ".length()));
+        } else if (keyword.startsWith("/prefix ")) {
+            indices = tasks.findByPrefix(keyword.substring("/prefix ".length()));
+        } else {
+            indices = tasks.findByKeyword(keyword);
+        }
+
+        return listMatches(tasks, indices);
+    }
+
+}
@@ -0,0 +1,150 @@
+package zbot.command;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import zbot.TaskList;
+import zbot.task.Deadline;
+import zbot.task.Event;
+import zbot.task.Task;
+import zbot.task.ToDo;
+
+/**
+ * Represents the command that lists the tasks in the task list.
+ * <p>
+ * {@code list undone} only lists tasks that are not done, and {@code list type TYPE} only
+ * lists todos, deadlines or events. Either can be followed by {@code page N [size M]} to
+ * list the Nth page of M tasks, 20 by default. Tasks keep their task numbers in every view.
+ */
+public class ListCommand extends QueryCommand {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int ESTIMATED_LINE_LENGTH = 64;
+    private static final int LINES_PER_PIECE = 256;
+    private static final int MAX_RETAINED_CAPACITY = 1 << 16;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(StringBuilder::new);
+
+    @Override
+    public String execute(ParsedCommand command, CommandContext context) {
+        StringBuilder response = new StringBuilder();
+        try {
+            execute(command, context, response);
+        } catch (IOException e) {
+            // Appending to a StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+        return response.toString();
+    }
+
+    /**
+     * Writes the requested tasks to the output without building the whole response first.
+     * <p>
+     * Lines are rendered into a small per-thread buffer that is written to the output every
+     * few hundred lines, so the buffer stays small however long the list is. A builder is
+     * sized for the whole response up front and rendered into directly instead.
+     */
+    @Override
+    public void execute(ParsedCommand command, CommandContext context, Appendable out) throws IOException {
+        String[] words = command.getArguments() == null ? new String[0] : command.getArguments().split(" ");
+        TaskList tasks = context.getTasks();
+
+        // The indices of the tasks in the view, or null for all tasks
+        int[] indices = null;
+        int next = 0;
+        if (next < words.length && words[next].equals("undone")) {
+            indices = tasks.findByStatus(false);
+            next++;
+        } else if (next + 1 < words.length && words[next].equals("type")) {
+            Class<? extends Task> type = parseType(words[next + 1]);
+            if (type == null) {
+                out.append(context.getUi().generateInvalidFormatMsg());
+                return;
+            }
+            indices = tasks.findByType(type);
+            next += 2;
+        }
+
+        boolean isPaged = next + 1 < words.length && words[next].equals("page");
+        int page = 0;
+        int pageSize = DEFAULT_PAGE_SIZE;
+        try {
+            if (isPaged) {
+                page = Integer.parseInt(words[next + 1]) - 1;
+                next += 2;
+            }
+            if (isPaged && next + 1 < words.length && words[next].equals("size")) {
+                pageSize = Integer.parseInt(words[next + 1]);
+                next += 2;
+            }
+        } catch (NumberFormatException e) {
+            out.append(context.getUi().generateInvalidFormatMsg());
+            return;
+        }
+        if (next != words.length || page < 0 || pageSize < 1) {
+            out.append(context.getUi().generateInvalidFormatMsg());
+            return;
+        }
+
+        int viewSize = indices == null ? tasks.size() : indices.length;
+        int pageCount = Math.max((viewSize + pageSize - 1) / pageSize, 1);
+        if (viewSize > 0 && page >= pageCount) {
+            out.append(context.getUi().generateInvalidFormatMsg());
+            return;
+        }
+
+        int from = isPaged ? (int) Math.min((long) page * pageSize, viewSize) : 0;
+        int to = isPaged ? (int) Math.min((long) from + pageSize, viewSize) : viewSize;
+
+        StringBuilder piece;
+        if (out instanceof StringBuilder) {
+            piece = (StringBuilder) out;
+            piece.ensureCapacity((int) Math.min(piece.length() + (long) (to - from + 2) * ESTIMATED_LINE_LENGTH,
+                    Integer.MAX_VALUE - 8));
+        } else {
+            piece = BUFFER.get();
+            piece.setLength(0);
+        }
+
+        piece.append("Here are the tasks in your list:\n");
+        for (int i = from; i < to; i++) {
+            int index = indices == null ? i : indices[i];
+            piece.append(index + 1).append(". ").append(tasks.get(index).toString()).append('\n');
+            if (piece != out && (i - from + 1) % LINES_PER_PIECE == 0) {
+                out.append(piece);
+                piece.setLength(0);
+            }
+        }
+
+        if (from == to && (indices != null || isPaged)) {
+            piece.append("No tasks found.\n");
+        }
+        if (isPaged) {
+            piece.append("Page ").append(page + 1).append(" of ").append(pageCount).append(".\n");
+        }
+
+        if (piece != out) {
+            out.append(piece);
+            piece.setLength(0);
+            if (piece.capacity() > MAX_RETAINED_CAPACITY) {
+                // Only lines of unusual length grow the buffer this far; do not keep it
+                BUFFER.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the class of tasks with the given type name, or null if there is none.
+     */
+    private static Class<? extends Task> parseType(String name) {
+        switch (name) {
+        case "todo":
+            return ToDo.class;
+        case "deadline":
+            return Deadline.class;
+        case "event":
+            return Event.class;
+        default:
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package zbot.command;
+
+import zbot.TaskList;
+
+/**
+ * Represents the commands that mark tasks as done or not done.
+ * <p>
+ * A single task number echoes the task. Any other selector, such as {@code 1-500} or
+ * {@code all}, marks every selected task in one pass and reports how many were marked.
+ */
+public class MarkCommand implements Command {
+    private boolean isDone;
+
+    /**
+     * Constructor for MarkCommand.
+     *
+     * @param isDone True to mark tasks as done, false to mark them as not done.
+     */
+    public MarkCommand(boolean isDone) {
+        this.isDone = isDone;
+    }
+
+    @Override
+    public String execute(ParsedCommand command, CommandContext context) {
+        String selector = command.getBody();
+
+        try {
+            if (selector != null && TaskSelector.isBatch(selector)) {
+                return markAll(TaskSelector.select(selector, context.getTasks()), context);
+            }
+            return mark(command.getTaskIndex(), context);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return context.getUi().generateInvalidTaskNumberMsg();
+        }
+    }
+
+    private String mark(int index, CommandContext context) {
+        TaskList tasks = context.getTasks();
+
+        if (isDone) {
+            tasks.markAsDone(index);
+            context.getStorage().saveMark(tasks, index);
+            return context.getUi().generateMarkTaskMsg(tasks.get(index));
+        } else {
+            tasks.markAsUndone(index);
+            context.getStorage().saveUnmark(tasks, index);
+            return context.getUi().generateUnmarkTaskMsg(tasks.get(index));
+        }
+    }
+
+    private String markAll(int[] indices, CommandContext context) {
+        TaskList tasks = context.getTasks();
+
+        if (isDone) {
+            tasks.markAsDone(indices);
+            if (indices.length > 0) {
+                context.getStorage().saveMarkAll(tasks, indices);
+            }
+            return context.getUi().generateMarkTasksMsg(indices.length);
+        } else {
+            tasks.markAsUndone(indices);
+            if (indices.length > 0) {
+                context.getStorage().saveUnmarkAll(tasks, indices);
+            }
+            return context.getUi().generateUnmarkTasksMsg(indices.length);
+        }
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
+}
@@ -0,0 +1,36 @@
+package zbot.command;
+
+import zbot.TaskList;
+
+/**
+ * Represents the command that adds a note to a task, given as {@code note NUMBER CONTENT}.
+ */
+public class NoteCommand implements Command {
+
+    @Override
+    public String execute(ParsedCommand command, CommandContext context) {
+        String arguments = command.getArguments();
+        int numberEnd = arguments == null ? -1 : arguments.indexOf(' ');
+        if (numberEnd < 0) {
+            return context.getUi().generateInvalidFormatMsg();
+        }
+
+        TaskList tasks = context.getTasks();
+        String content = arguments.substring(numberEnd + 1);
+
+        try {
+            int index = Integer.parseInt(arguments.substring(0, numberEnd)) - 1;
+            tasks.addNote(index, content);
+            context.getStorage().saveNote(tasks, index, content);
+            return context.getUi().generateAddNoteMsg(tasks.get(index));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return context.getUi().generateInvalidTaskNumberMsg();
+        }
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
+}
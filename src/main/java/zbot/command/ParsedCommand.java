@@ -0,0 +1,112 @@
+package zbot.command;
+
+/**
+ * Represents user input split into a command name, its body and the values of its flags.
+ * <p>
+ * For example, {@code deadline return book /by 02/12/2019 1800} has the name
+ * {@code deadline}, the body {@code return book} and the value {@code 02/12/2019 1800}
+ * for the flag {@code by}.
+ */
+public class ParsedCommand {
+    private Command command;
+    private String name;
+    private String arguments;
+    private String body;
+    private String[] flags;
+    private String[] flagValues;
+
+    /**
+     * Constructor for ParsedCommand.
+     *
+     * @param command    Command with the given name, or null if there is none.
+     * @param name       Name of the command.
+     * @param arguments  Everything after the name and the space following it, or null if
+     *                   there is nothing after the name.
+     * @param body       Arguments before the first flag, or null if there are no arguments.
+     * @param flags      Names of the flags that the command takes.
+     * @param flagValues Values of the flags, or null for flags that are not given.
+     */
+    ParsedCommand(Command command, String name, String arguments, String body, String[] flags,
+            String[] flagValues) {
+        this.command = command;
+        this.name = name;
+        this.arguments = arguments;
+        this.body = body;
+        this.flags = flags;
+        this.flagValues = flagValues;
+    }
+
+    /**
+     * Returns the command with the parsed name.
+     *
+     * @return Command to execute, or null if the name is not a known command.
+     */
+    public Command getCommand() {
+        return command;
+    }
+
+    /**
+     * Returns whether the parsed command changes the task list.
+     *
+     * @return True if the command is known and changes the task list, false otherwise.
+     */
+    public boolean isMutating() {
+        return command != null && command.isMutating();
+    }
+
+    /**
+     * Returns the name of the command.
+     *
+     * @return Name of the command.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns everything after the name of the command, including any flags.
+     *
+     * @return Arguments of the command, or null if there are none.
+     */
+    public String getArguments() {
+        return arguments;
+    }
+
+    /**
+     * Returns the arguments before the first flag.
+     *
+     * @return Body of the command, or null if there are no arguments.
+     */
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * Returns the value of the given flag.
+     *
+     * @param flag Name of the flag, without the leading slash.
+     * @return Value of the flag, or null if it is not given.
+     */
+    public String getFlag(String flag) {
+        for (int i = 0; i < flags.length; i++) {
+            if (flags[i].equals(flag)) {
+                return flagValues[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the body of the command as a task number, converted to a 0-based index.
+     *
+     * @return Index of the task.
+     * @throws NumberFormatException If the body is not a number.
+     */
+    public int getTaskIndex() throws NumberFormatException {
+        if (body == null) {
+            throw new NumberFormatException("Task number is missing.");
+        }
+        return Integer.parseInt(body) - 1;
+    }
+
+}
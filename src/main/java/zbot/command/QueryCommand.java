@@ -0,0 +1,36 @@
+package zbot.command;
+
+import zbot.TaskList;
+
+/**
+ * Represents a command that lists tasks without changing them.
+ */
+public abstract class QueryCommand implements Command {
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
+
+    /**
+     * Lists the tasks at the given indices with their task numbers.
+     *
+     * @param tasks   Task list holding the tasks.
+     * @param indices Indices of the tasks.
+     * @return Numbered list of the tasks, or a message if there are none.
+     */
+    protected static String listMatches(TaskList tasks, int[] indices) {
+        StringBuilder response = new StringBuilder();
+
+        for (int index : indices) {
+            response.append(index + 1).append(". ").append(tasks.get(index)).append("\n");
+        }
+
+        if (indices.length == 0) {
+            response.append("No tasks found.");
+        }
+
+        return response.toString();
+    }
+
+}
@@ -0,0 +1,21 @@
+package zbot.command;
+
+/**
+ * Represents the command that reports how long commands and storage operations take.
+ */
+public class StatsCommand implements Command {
+
+    @Override
+    public String execute(ParsedCommand command, CommandContext context) {
+        if (command.getArguments() != null) {
+            return context.getUi().generateInvalidFormatMsg();
+        }
+        return context.getUi().generateStatsMsg(context.getMetrics());
+    }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
+
+}
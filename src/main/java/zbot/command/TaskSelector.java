@@ -0,0 +1,87 @@
+package zbot.command;
+
+import java.util.Arrays;
+
+import zbot.TaskList;
+
+/**
+ * Represents the selection of several tasks by number, range or status.
+ * <p>
+ * A selector is {@code all}, {@code done}, {@code undone}, or a comma-separated list of
+ * task numbers and inclusive ranges such as {@code 4,9,12} or {@code 1-500}.
+ */
+class TaskSelector {
+    private static final String ALL = "all";
+    private static final String DONE = "done";
+    private static final String UNDONE = "undone";
+
+    /**
+     * Returns true if the selector may select more than one task.
+     *
+     * @param selector Selector given by the user.
+     * @return True if the selector is not a single task number, false otherwise.
+     */
+    static boolean isBatch(String selector) {
+        return selector.equals(ALL) || selector.equals(DONE) || selector.equals(UNDONE)
+                || selector.indexOf(',') >= 0 || selector.indexOf('-') >= 0;
+    }
+
+    /**
+     * Returns the indices of the tasks selected by the selector.
+     *
+     * @param selector Selector given by the user.
+     * @param tasks    Task list to select from.
+     * @return Indices of the selected tasks in ascending order without duplicates.
+     * @throws NumberFormatException     If a task number is not a number.
+     * @throws IndexOutOfBoundsException If a task number does not refer to a task.
+     */
+    static int[] select(String selector, TaskList tasks) throws NumberFormatException, IndexOutOfBoundsException {
+        if (selector.equals(ALL)) {
+            int[] indices = new int[tasks.size()];
+            Arrays.setAll(indices, i -> i);
+            return indices;
+        } else if (selector.equals(DONE)) {
+            return tasks.findByStatus(true);
+        } else if (selector.equals(UNDONE)) {
+            return tasks.findByStatus(false);
+        }
+
+        String[] parts = selector.split(",");
+        int[][] ranges = new int[parts.length][];
+        long count = 0;
+        for (int i = 0; i < parts.length; i++) {
+            int dash = parts[i].indexOf('-');
+            int first = Integer.parseInt(dash < 0 ? parts[i] : parts[i].substring(0, dash));
+            int last = dash < 0 ? first : Integer.parseInt(parts[i].substring(dash + 1));
+            if (first < 1 || last < first || last > tasks.size()) {
+                throw new IndexOutOfBoundsException("No tasks numbered " + parts[i]);
+            }
+            ranges[i] = new int[] {first - 1, last - 1};
+            count += last - first + 1;
+        }
+
+        int[] indices = new int[(int) Math.min(count, Integer.MAX_VALUE)];
+        int next = 0;
+        for (int[] range : ranges) {
+            for (int index = range[0]; index <= range[1]; index++) {
+                indices[next++] = index;
+            }
+        }
+        return distinct(indices);
+    }
+
+    /**
+     * Sorts the indices and removes duplicates, in place where possible.
+     */
+    private static int[] distinct(int[] indices) {
+        Arrays.sort(indices);
+        int count = 0;
+        for (int i = 0; i < indices.length; i++) {
+            if (count == 0 || indices[i] != indices[count - 1]) {
+                indices[count++] = indices[i];
+            }
+        }
+        return count == indices.length ? indices : Arrays.copyOf(indices, count);
+    }
+
+}
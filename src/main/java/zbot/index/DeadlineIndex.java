@@ -0,0 +1,84 @@
+package zbot.index;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Represents an index of deadline handles ordered by due datetime.
+ * <p>
+ * Deadlines with the same due datetime are kept in ascending order of handle.
+ */
+public class DeadlineIndex {
+    private TreeMap<LocalDateTime, SortedIntList> deadlines = new TreeMap<>();
+
+    /**
+     * Adds a deadline to the index.
+     * <p>
+     * Handles must be added in ascending order.
+     *
+     * @param handle  Handle of the deadline.
+     * @param dueDate Due datetime of the deadline.
+     */
+    public void add(int handle, LocalDateTime dueDate) {
+        deadlines.computeIfAbsent(dueDate, d -> new SortedIntList()).append(handle);
+    }
+
+    /**
+     * Removes a deadline from the index.
+     *
+     * @param handle  Handle of the deadline.
+     * @param dueDate Due datetime of the deadline.
+     */
+    public void remove(int handle, LocalDateTime dueDate) {
+        SortedIntList handles = deadlines.get(dueDate);
+        if (handles == null) {
+            return;
+        }
+
+        handles.remove(handle);
+        if (handles.isEmpty()) {
+            deadlines.remove(dueDate);
+        }
+    }
+
+    /**
+     * Returns the handles of the deadlines due strictly before the given datetime.
+     *
+     * @param dateTime Datetime to compare against.
+     * @return Handles in order of due datetime.
+     */
+    public int[] findBefore(LocalDateTime dateTime) {
+        return collect(deadlines.headMap(dateTime, false));
+    }
+
+    /**
+     * Returns the handles of the deadlines due between the given datetimes, inclusive.
+     *
+     * @param from Earliest due datetime.
+     * @param to   Latest due datetime.
+     * @return Handles in order of due datetime.
+     */
+    public int[] findBetween(LocalDateTime from, LocalDateTime to) {
+        if (from.isAfter(to)) {
+            return new int[0];
+        }
+        return collect(deadlines.subMap(from, true, to, true));
+    }
+
+    private static int[] collect(NavigableMap<LocalDateTime, SortedIntList> range) {
+        int[] handles = new int[16];
+        int count = 0;
+
+        for (SortedIntList sameDate : range.values()) {
+            if (handles.length < count + sameDate.size()) {
+                handles = Arrays.copyOf(handles, Math.max(handles.length * 2, count + sameDate.size()));
+            }
+            sameDate.copyTo(handles, count);
+            count += sameDate.size();
+        }
+        return Arrays.copyOf(handles, count);
+    }
+
+}
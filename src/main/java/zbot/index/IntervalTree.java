@@ -0,0 +1,207 @@
+package zbot.index;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Represents an interval tree of event handles.
+ * <p>
+ * The tree is a treap ordered by start datetime and then by handle, where every node
+ * also keeps the latest end datetime in its subtree. Overlap queries skip every subtree
+ * that ends before the query starts, so they take O(log n + k) time for k matches.
+ */
+public class IntervalTree {
+    private Random random = new Random(0);
+    private Node root;
+    private int size;
+
+    /**
+     * Represents a node holding one event.
+     */
+    private static class Node {
+        private LocalDateTime start;
+        private LocalDateTime end;
+        private int handle;
+        private int priority;
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(LocalDateTime start, LocalDateTime end, int handle, int priority) {
+            this.start = start;
+            this.end = end;
+            this.handle = handle;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        int compareTo(LocalDateTime otherStart, int otherHandle) {
+            int byStart = start.compareTo(otherStart);
+            return byStart != 0 ? byStart : Integer.compare(handle, otherHandle);
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+
+    /**
+     * Adds an event to the tree.
+     *
+     * @param handle Handle of the event.
+     * @param start  Start datetime of the event.
+     * @param end    End datetime of the event.
+     */
+    public void add(int handle, LocalDateTime start, LocalDateTime end) {
+        root = insert(root, new Node(start, end, handle, random.nextInt()));
+        size++;
+    }
+
+    /**
+     * Removes an event from the tree.
+     *
+     * @param handle Handle of the event.
+     * @param start  Start datetime of the event.
+     */
+    public void remove(int handle, LocalDateTime start) {
+        int sizeBefore = size;
+        root = delete(root, start, handle);
+        assert size == sizeBefore - 1 : "Removed event should be in the tree.";
+    }
+
+    /**
+     * Returns the number of events in the tree.
+     *
+     * @return Number of events in the tree.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the handles of the events that overlap the given range, inclusive.
+     *
+     * @param from Start of the range.
+     * @param to   End of the range.
+     * @return Handles in order of start datetime.
+     */
+    public int[] findOverlapping(LocalDateTime from, LocalDateTime to) {
+        Matches matches = new Matches();
+        if (!from.isAfter(to)) {
+            collect(root, from, to, matches);
+        }
+        return Arrays.copyOf(matches.handles, matches.count);
+    }
+
+    private Node insert(Node node, Node newNode) {
+        if (node == null) {
+            return newNode;
+        }
+
+        if (newNode.compareTo(node.start, node.handle) < 0) {
+            node.left = insert(node.left, newNode);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, newNode);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node delete(Node node, LocalDateTime start, int handle) {
+        if (node == null) {
+            return null;
+        }
+
+        int comparison = node.compareTo(start, handle);
+        if (comparison > 0) {
+            node.left = delete(node.left, start, handle);
+        } else if (comparison < 0) {
+            node.right = delete(node.right, start, handle);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private void collect(Node node, LocalDateTime from, LocalDateTime to, Matches matches) {
+        if (node == null || node.maxEnd.isBefore(from)) {
+            return;
+        }
+
+        collect(node.left, from, to, matches);
+        if (node.start.isAfter(to)) {
+            return;
+        }
+        if (!node.end.isBefore(from)) {
+            matches.add(node.handle);
+        }
+        collect(node.right, from, to, matches);
+    }
+
+    /**
+     * Represents a growable array of matching handles.
+     */
+    private static class Matches {
+        private int[] handles = new int[16];
+        private int count;
+
+        void add(int handle) {
+            if (count == handles.length) {
+                handles = Arrays.copyOf(handles, count * 2);
+            }
+            handles[count++] = handle;
+        }
+    }
+
+}
@@ -0,0 +1,229 @@
+package zbot.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Represents an inverted index from the words of task descriptions to task handles.
+ * <p>
+ * Words are the maximal runs of non-whitespace characters in a description and are
+ * matched case-sensitively. Each word maps to a posting list of the handles of the tasks
+ * whose description contains it, in ascending order.
+ * <p>
+ * Each run of three characters in a word maps to the words that contain it, so that a
+ * substring lookup only checks the words sharing its rarest run of three characters
+ * instead of every word.
+ */
+public class KeywordIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private TreeMap<String, SortedIntList> postings = new TreeMap<>();
+    private HashMap<String, Set<String>> wordsByGram = new HashMap<>();
+
+    /**
+     * Adds a task to the index.
+     * <p>
+     * Handles must be added in ascending order.
+     *
+     * @param handle      Handle of the task.
+     * @param description Description of the task.
+     */
+    public void add(int handle, String description) {
+        for (String word : splitWords(description)) {
+            SortedIntList postingList = postings.get(word);
+            if (postingList == null) {
+                postingList = new SortedIntList();
+                postings.put(word, postingList);
+                addGrams(word);
+            }
+
+            if (postingList.isEmpty() || postingList.last() != handle) {
+                postingList.append(handle);
+            }
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param handle      Handle of the task.
+     * @param description Description of the task when it was added.
+     */
+    public void remove(int handle, String description) {
+        for (String word : splitWords(description)) {
+            SortedIntList postingList = postings.get(word);
+            if (postingList == null) {
+                continue;
+            }
+
+            postingList.remove(handle);
+            if (postingList.isEmpty()) {
+                postings.remove(word);
+                removeGrams(word);
+            }
+        }
+    }
+
+    /**
+     * Returns the handles of the tasks whose description contains the given word.
+     *
+     * @param word Word to look for.
+     * @return Handles in ascending order.
+     */
+    public int[] findWord(String word) {
+        SortedIntList postingList = postings.get(word);
+        if (postingList == null) {
+            return new int[0];
+        }
+
+        int[] handles = new int[postingList.size()];
+        postingList.copyTo(handles, 0);
+        return handles;
+    }
+
+    /**
+     * Returns the handles of the tasks whose description contains a word starting with the
+     * given prefix.
+     *
+     * @param prefix Prefix to look for.
+     * @return Handles in ascending order.
+     */
+    public int[] findPrefix(String prefix) {
+        List<SortedIntList> matches = new ArrayList<>();
+        for (Map.Entry<String, SortedIntList> entry : postings.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            matches.add(entry.getValue());
+        }
+        return union(matches);
+    }
+
+    /**
+     * Returns the handles of the tasks whose description contains a word that contains the
+     * given keyword.
+     * <p>
+     * For a keyword without whitespace, this is exactly the set of tasks whose description
+     * contains the keyword. Keywords shorter than three characters are checked against
+     * every word, as they match a large share of the words anyway.
+     *
+     * @param keyword Keyword to look for.
+     * @return Handles in ascending order.
+     */
+    public int[] findSubstring(String keyword) {
+        List<SortedIntList> matches = new ArrayList<>();
+        if (keyword.length() < GRAM_LENGTH) {
+            for (Map.Entry<String, SortedIntList> entry : postings.entrySet()) {
+                if (entry.getKey().contains(keyword)) {
+                    matches.add(entry.getValue());
+                }
+            }
+            return union(matches);
+        }
+
+        Set<String> candidates = null;
+        for (int i = 0; i + GRAM_LENGTH <= keyword.length(); i++) {
+            Set<String> words = wordsByGram.get(keyword.substring(i, i + GRAM_LENGTH));
+            if (words == null) {
+                return new int[0];
+            }
+            if (candidates == null || words.size() < candidates.size()) {
+                candidates = words;
+            }
+        }
+
+        for (String word : candidates) {
+            if (word.contains(keyword)) {
+                matches.add(postings.get(word));
+            }
+        }
+        return union(matches);
+    }
+
+    /**
+     * Returns true if the given text can be looked up as a single word.
+     *
+     * @param text Text to check.
+     * @return True if the text is non-empty and has no whitespace, false otherwise.
+     */
+    public static boolean isWord(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addGrams(String word) {
+        for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+            wordsByGram.computeIfAbsent(word.substring(i, i + GRAM_LENGTH), gram -> new HashSet<>()).add(word);
+        }
+    }
+
+    private void removeGrams(String word) {
+        for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+            String gram = word.substring(i, i + GRAM_LENGTH);
+            Set<String> words = wordsByGram.get(gram);
+            if (words != null && words.remove(word) && words.isEmpty()) {
+                wordsByGram.remove(gram);
+            }
+        }
+    }
+
+    private static List<String> splitWords(String text) {
+        List<String> words = new ArrayList<>();
+        int wordStart = -1;
+
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isBoundary = i == text.length() || Character.isWhitespace(text.charAt(i));
+            if (isBoundary && wordStart >= 0) {
+                words.add(text.substring(wordStart, i));
+                wordStart = -1;
+            } else if (!isBoundary && wordStart < 0) {
+                wordStart = i;
+            }
+        }
+        return words;
+    }
+
+    private static int[] union(List<SortedIntList> postingLists) {
+        if (postingLists.size() == 1) {
+            int[] handles = new int[postingLists.get(0).size()];
+            postingLists.get(0).copyTo(handles, 0);
+            return handles;
+        }
+
+        int total = 0;
+        for (SortedIntList postingList : postingLists) {
+            total += postingList.size();
+        }
+
+        int[] handles = new int[total];
+        int offset = 0;
+        for (SortedIntList postingList : postingLists) {
+            postingList.copyTo(handles, offset);
+            offset += postingList.size();
+        }
+        Arrays.sort(handles);
+
+        int distinct = 0;
+        for (int i = 0; i < handles.length; i++) {
+            if (distinct == 0 || handles[distinct - 1] != handles[i]) {
+                handles[distinct++] = handles[i];
+            }
+        }
+        return Arrays.copyOf(handles, distinct);
+    }
+
+}
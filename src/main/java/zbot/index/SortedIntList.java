@@ -0,0 +1,149 @@
+package zbot.index;
+
+import java.util.Arrays;
+
+/**
+ * Represents a growable list of ints kept in ascending order.
+ * <p>
+ * Values are expected to be appended in ascending order, which keeps the list sorted
+ * without any shifting on insertion.
+ */
+public class SortedIntList {
+    private int[] values;
+    private int size;
+
+    /**
+     * Constructor for SortedIntList.
+     *
+     * Creates an empty list.
+     */
+    public SortedIntList() {
+        this.values = new int[4];
+    }
+
+    /**
+     * Appends a value that is greater than every value in the list.
+     *
+     * @param value Value to append.
+     */
+    public void append(int value) {
+        assert size == 0 || values[size - 1] < value : "Values should be appended in ascending order.";
+
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Returns the value at the specified index.
+     *
+     * @param index Index of the value.
+     * @return Value at the specified index.
+     */
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return values[index];
+    }
+
+    /**
+     * Returns the last value in the list.
+     *
+     * @return Last value in the list.
+     */
+    public int last() {
+        return get(size - 1);
+    }
+
+    /**
+     * Returns the index of the given value, or -1 if it is not in the list.
+     *
+     * @param value Value to look for.
+     * @return Index of the value.
+     */
+    public int indexOf(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Removes the value at the specified index.
+     *
+     * @param index Index of the value.
+     * @return Value that is removed.
+     */
+    public int removeAt(int index) {
+        int value = get(index);
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * Removes the values at the specified indices in a single pass.
+     *
+     * @param indices Indices of the values, in ascending order without duplicates.
+     */
+    public void removeAllAt(int[] indices) {
+        if (indices.length == 0) {
+            return;
+        }
+
+        int write = indices[0];
+        int next = 0;
+        for (int read = indices[0]; read < size; read++) {
+            if (next < indices.length && indices[next] == read) {
+                next++;
+            } else {
+                values[write++] = values[read];
+            }
+        }
+        size = write;
+    }
+
+    /**
+     * Removes the given value if it is in the list.
+     *
+     * @param value Value to remove.
+     * @return True if the value was removed, false otherwise.
+     */
+    public boolean remove(int value) {
+        int index = indexOf(value);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Returns the number of values in the list.
+     *
+     * @return Number of values in the list.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if the list has no values.
+     *
+     * @return True if the list is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copies the values into the given array, starting at the given offset.
+     *
+     * @param target Array to copy into.
+     * @param offset Index of the array to copy the first value to.
+     */
+    public void copyTo(int[] target, int offset) {
+        System.arraycopy(values, 0, target, offset, size);
+    }
+
+}
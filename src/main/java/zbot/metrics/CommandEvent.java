@@ -0,0 +1,47 @@
+package zbot.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Represents a Java Flight Recorder event for executing a command.
+ * <p>
+ * Like the other events in this package, it is enabled by default and costs nothing
+ * until a recording is started.
+ */
+@Name("zbot.Command")
+@Label("Command")
+@Category("ZBot")
+@Description("Execution of a user command, from parsing to the response")
+@StackTrace(false)
+public class CommandEvent extends Event {
+    @Label("Command")
+    private String command;
+
+    @Label("Mutating")
+    @Description("Whether the command changes the task list")
+    private boolean isMutating;
+
+    @Label("Task Count")
+    @Description("Number of tasks after the command")
+    private int taskCount;
+
+    /**
+     * Commits the event with the given details.
+     *
+     * @param command    Name of the command.
+     * @param isMutating True if the command changes the task list.
+     * @param taskCount  Number of tasks after the command.
+     */
+    public void commit(String command, boolean isMutating, int taskCount) {
+        this.command = command;
+        this.isMutating = isMutating;
+        this.taskCount = taskCount;
+        commit();
+    }
+
+}
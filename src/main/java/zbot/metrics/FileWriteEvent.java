@@ -0,0 +1,43 @@
+package zbot.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents a Java Flight Recorder event for writing to the task file or its journal.
+ */
+@Name("zbot.FileWrite")
+@Label("File Write")
+@Category("ZBot")
+@Description("Write of text to the task file or of records to its journal")
+public class FileWriteEvent extends Event {
+    @Label("Path")
+    private String path;
+
+    @Label("Record Count")
+    @Description("Number of journal records written, or 0 for the task file")
+    private int recordCount;
+
+    @Label("Bytes Written")
+    @DataAmount
+    private long bytesWritten;
+
+    /**
+     * Commits the event with the given details.
+     *
+     * @param path         Path of the file written to.
+     * @param recordCount  Number of journal records written, or 0 for the task file.
+     * @param bytesWritten Number of bytes written.
+     */
+    public void commit(String path, int recordCount, long bytesWritten) {
+        this.path = path;
+        this.recordCount = recordCount;
+        this.bytesWritten = bytesWritten;
+        commit();
+    }
+
+}
@@ -0,0 +1,35 @@
+package zbot.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents a Java Flight Recorder event for loading the task file.
+ */
+@Name("zbot.Load")
+@Label("Load")
+@Category("ZBot")
+@Description("Loading of the task file, including replay of its journal")
+public class LoadEvent extends Event {
+    @Label("Path")
+    private String path;
+
+    @Label("Task Count")
+    private int taskCount;
+
+    /**
+     * Commits the event with the given details.
+     *
+     * @param path      Path of the task file.
+     * @param taskCount Number of tasks loaded.
+     */
+    public void commit(String path, int taskCount) {
+        this.path = path;
+        this.taskCount = taskCount;
+        commit();
+    }
+
+}
@@ -0,0 +1,230 @@
+package zbot.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Represents the recorded durations of commands and storage operations, and the number of
+ * bytes written.
+ * <p>
+ * Callers check {@link #isEnabled()} before reading the clock, so that disabled recording
+ * costs a single volatile read. Recording is enabled unless the system property
+ * {@code zbot.metrics} is {@code false}, and can be switched at runtime through JMX.
+ */
+public class Metrics implements MetricsMXBean {
+    private static final String ENABLED_PROPERTY = "zbot.metrics";
+    private static final long NANOS_PER_MICRO = 1000;
+
+    private volatile boolean isEnabled = !"false".equals(System.getProperty(ENABLED_PROPERTY));
+    private ConcurrentHashMap<String, LatencyHistogram> commandLatencies = new ConcurrentHashMap<>();
+    private LatencyHistogram loadLatency = new LatencyHistogram();
+    private LatencyHistogram saveLatency = new LatencyHistogram();
+    private LatencyHistogram journalAppendLatency = new LatencyHistogram();
+    private LongAdder bytesWritten = new LongAdder();
+    private ObjectName objectName;
+
+    /**
+     * Registers these metrics with the platform MBean server under the given name.
+     * <p>
+     * Registration is skipped if these metrics are already registered, the name is taken
+     * or JMX is unavailable, since the metrics remain available through the stats command.
+     *
+     * @param name Name that tells these metrics apart from others in the same process.
+     */
+    public synchronized void registerMBean(String name) {
+        if (objectName != null) {
+            return;
+        }
+
+        try {
+            ObjectName newName = new ObjectName("zbot:type=Metrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, newName);
+            objectName = newName;
+        } catch (JMException e) {
+            // Another instance already uses this name
+        }
+    }
+
+    /**
+     * Unregisters these metrics from the platform MBean server, so that the name can be
+     * used again and the metrics can be collected.
+     * <p>
+     * Does nothing if these metrics are not registered.
+     */
+    public synchronized void unregisterMBean() {
+        if (objectName == null) {
+            return;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            // Already unregistered through JMX
+        }
+        objectName = null;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    @Override
+    public void setEnabled(boolean isEnabled) {
+        this.isEnabled = isEnabled;
+    }
+
+    /**
+     * Records the duration of a command.
+     *
+     * @param name  Name of the command.
+     * @param nanos Duration in nanoseconds.
+     */
+    public void recordCommand(String name, long nanos) {
+        commandLatencies.computeIfAbsent(name, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Records the duration of loading the task file.
+     *
+     * @param nanos Duration in nanoseconds.
+     */
+    public void recordLoad(long nanos) {
+        loadLatency.record(nanos);
+    }
+
+    /**
+     * Records the duration and size of saving all tasks.
+     *
+     * @param nanos Duration in nanoseconds.
+     * @param bytes Number of bytes written.
+     */
+    public void recordSave(long nanos, long bytes) {
+        saveLatency.record(nanos);
+        bytesWritten.add(bytes);
+    }
+
+    /**
+     * Records the duration and size of appending records to the journal.
+     *
+     * @param nanos Duration in nanoseconds.
+     * @param bytes Number of bytes written.
+     */
+    public void recordJournalAppend(long nanos, long bytes) {
+        journalAppendLatency.record(nanos);
+        bytesWritten.add(bytes);
+    }
+
+    /**
+     * Returns the durations of each command that has run.
+     *
+     * @return Histograms by command name, in alphabetical order.
+     */
+    public Map<String, LatencyHistogram> getCommandLatencies() {
+        return new TreeMap<>(commandLatencies);
+    }
+
+    /**
+     * Returns the durations of loading the task file.
+     *
+     * @return Histogram of load durations.
+     */
+    public LatencyHistogram getLoadLatency() {
+        return loadLatency;
+    }
+
+    /**
+     * Returns the durations of saving all tasks.
+     *
+     * @return Histogram of save durations.
+     */
+    public LatencyHistogram getSaveLatency() {
+        return saveLatency;
+    }
+
+    /**
+     * Returns the durations of appending records to the journal.
+     *
+     * @return Histogram of journal append durations.
+     */
+    public LatencyHistogram getJournalAppendLatency() {
+        return journalAppendLatency;
+    }
+
+    @Override
+    public Map<String, Long> getCommandCounts() {
+        return summarizeCommands(LatencyHistogram::getCount);
+    }
+
+    @Override
+    public Map<String, Long> getCommandMeanMicros() {
+        return summarizeCommands(histogram -> histogram.getMeanNanos() / NANOS_PER_MICRO);
+    }
+
+    @Override
+    public Map<String, Long> getCommandP99Micros() {
+        return summarizeCommands(histogram -> histogram.getPercentileNanos(99) / NANOS_PER_MICRO);
+    }
+
+    @Override
+    public long getLoadCount() {
+        return loadLatency.getCount();
+    }
+
+    @Override
+    public long getLoadMeanMicros() {
+        return loadLatency.getMeanNanos() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public long getSaveCount() {
+        return saveLatency.getCount();
+    }
+
+    @Override
+    public long getSaveMeanMicros() {
+        return saveLatency.getMeanNanos() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public long getSaveP99Micros() {
+        return saveLatency.getPercentileNanos(99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public long getJournalAppendCount() {
+        return journalAppendLatency.getCount();
+    }
+
+    @Override
+    public long getJournalAppendMeanMicros() {
+        return journalAppendLatency.getMeanNanos() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    @Override
+    public void reset() {
+        commandLatencies.clear();
+        loadLatency.reset();
+        saveLatency.reset();
+        journalAppendLatency.reset();
+        bytesWritten.reset();
+    }
+
+    private Map<String, Long> summarizeCommands(ToLongFunction<LatencyHistogram> summary) {
+        Map<String, Long> result = new TreeMap<>();
+        commandLatencies.forEach((name, histogram) -> result.put(name, summary.applyAsLong(histogram)));
+        return result;
+    }
+
+}
@@ -0,0 +1,107 @@
+package zbot.metrics;
+
+import java.util.Map;
+
+/**
+ * Represents the management interface of {@link Metrics}, for JMX clients such as
+ * JConsole.
+ */
+public interface MetricsMXBean {
+
+    /**
+     * Returns whether durations and sizes are being recorded.
+     *
+     * @return True if recording is enabled, false otherwise.
+     */
+    boolean isEnabled();
+
+    /**
+     * Enables or disables recording.
+     *
+     * @param isEnabled True to record, false to stop recording.
+     */
+    void setEnabled(boolean isEnabled);
+
+    /**
+     * Returns the number of times each command has run.
+     *
+     * @return Number of runs by command name.
+     */
+    Map<String, Long> getCommandCounts();
+
+    /**
+     * Returns the mean duration of each command.
+     *
+     * @return Mean duration in microseconds by command name.
+     */
+    Map<String, Long> getCommandMeanMicros();
+
+    /**
+     * Returns the 99th percentile duration of each command.
+     *
+     * @return 99th percentile duration in microseconds by command name.
+     */
+    Map<String, Long> getCommandP99Micros();
+
+    /**
+     * Returns the number of times the task file has been loaded.
+     *
+     * @return Number of loads.
+     */
+    long getLoadCount();
+
+    /**
+     * Returns the mean duration of loading the task file.
+     *
+     * @return Mean load duration in microseconds.
+     */
+    long getLoadMeanMicros();
+
+    /**
+     * Returns the number of times all tasks have been saved.
+     *
+     * @return Number of full saves.
+     */
+    long getSaveCount();
+
+    /**
+     * Returns the mean duration of saving all tasks.
+     *
+     * @return Mean save duration in microseconds.
+     */
+    long getSaveMeanMicros();
+
+    /**
+     * Returns the 99th percentile duration of saving all tasks.
+     *
+     * @return 99th percentile save duration in microseconds.
+     */
+    long getSaveP99Micros();
+
+    /**
+     * Returns the number of times records have been appended to the journal.
+     *
+     * @return Number of journal appends.
+     */
+    long getJournalAppendCount();
+
+    /**
+     * Returns the mean duration of appending records to the journal.
+     *
+     * @return Mean append duration in microseconds.
+     */
+    long getJournalAppendMeanMicros();
+
+    /**
+     * Returns the number of bytes written to the task file and the journal.
+     *
+     * @return Number of bytes written.
+     */
+    long getBytesWritten();
+
+    /**
+     * Clears everything recorded so far.
+     */
+    void reset();
+
+}
@@ -0,0 +1,42 @@
+package zbot.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents a Java Flight Recorder event for saving all tasks.
+ */
+@Name("zbot.Save")
+@Label("Save")
+@Category("ZBot")
+@Description("Saving of all tasks as a snapshot, replacing the task file")
+public class SaveEvent extends Event {
+    @Label("Path")
+    private String path;
+
+    @Label("Task Count")
+    private int taskCount;
+
+    @Label("Bytes Written")
+    @DataAmount
+    private long bytesWritten;
+
+    /**
+     * Commits the event with the given details.
+     *
+     * @param path         Path of the task file.
+     * @param taskCount    Number of tasks saved.
+     * @param bytesWritten Size of the snapshot in bytes.
+     */
+    public void commit(String path, int taskCount, long bytesWritten) {
+        this.path = path;
+        this.taskCount = taskCount;
+        this.bytesWritten = bytesWritten;
+        commit();
+    }
+
+}
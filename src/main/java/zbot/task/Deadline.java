@@ -55,9 +55,12 @@ public class Deadline extends Task {
     }
 
     @Override
-    public String toString() {
-        return String.format("[D]%s (by: %s)", super.toString(),
-                Parser.formatDateTimeToOutput(dueDate));
+    protected void render(StringBuilder sb, boolean isDone, Note note) {
+        sb.append("[D]");
+        super.render(sb, isDone, note);
+        sb.append(" (by: ");
+        Parser.appendDateTimeForOutput(sb, dueDate);
+        sb.append(')');
     }
 
 }
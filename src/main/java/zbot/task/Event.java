@@ -71,9 +71,14 @@ public class Event extends Task {
     }
 
     @Override
-    public String toString() {
-        return String.format("[E]%s (from: %s to: %s)", super.toString(),
-                Parser.formatDateTimeToOutput(startDate), Parser.formatDateTimeToOutput(endDate));
+    protected void render(StringBuilder sb, boolean isDone, Note note) {
+        sb.append("[E]");
+        super.render(sb, isDone, note);
+        sb.append(" (from: ");
+        Parser.appendDateTimeForOutput(sb, startDate);
+        sb.append(" to: ");
+        Parser.appendDateTimeForOutput(sb, endDate);
+        sb.append(')');
     }
 
 }
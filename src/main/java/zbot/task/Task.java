@@ -2,11 +2,19 @@ package zbot.task;
 
 /**
  * Represents a task with a description and completion status.
+ * <p>
+ * The status and note are volatile so that readers on other threads see changes.
+ * <p>
+ * The line shown for the task is rendered once and kept until the status or note
+ * changes, so listing an unchanged task again does not build a new string. The kept line
+ * records the status and note it was rendered with and is only reused while they are
+ * current, so a line rendered during a concurrent change is never shown afterwards.
  */
 public class Task {
     protected String description;
-    protected boolean isDone;
-    protected Note note;
+    protected volatile boolean isDone;
+    protected volatile Note note;
+    private volatile RenderedLine renderedLine;
 
     /**
      * Constructor for Task.
@@ -66,6 +74,7 @@ public class Task {
      */
     public void markAsDone() {
         this.isDone = true;
+        this.renderedLine = null;
     }
 
     /**
@@ -73,6 +82,7 @@ public class Task {
      */
     public void markAsUndone() {
         this.isDone = false;
+        this.renderedLine = null;
     }
 
     /**
@@ -89,6 +99,7 @@ public class Task {
      */
     public void addNote(String content) {
         this.note = new Note(content);
+        this.renderedLine = null;
     }
 
     /**
@@ -100,11 +111,59 @@ public class Task {
         return note;
     }
 
+    /**
+     * Returns the line shown for the task, rendering it only if the status or note has
+     * changed since it was last rendered.
+     *
+     * @return Line shown for the task.
+     */
     @Override
     public String toString() {
-        return note.isEmpty()
-                ? String.format("[%s] %s", getStatusIcon(), description)
-                : String.format("[%s] %s (Note: %s)", getStatusIcon(), description, note);
+        boolean wasDone = isDone;
+        Note currentNote = note;
+        RenderedLine line = renderedLine;
+        if (line != null && line.isDone == wasDone && line.note == currentNote) {
+            return line.text;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        render(sb, wasDone, currentNote);
+        String text = sb.toString();
+        if (isDone == wasDone && note == currentNote) {
+            renderedLine = new RenderedLine(wasDone, currentNote, text);
+        }
+        return text;
+    }
+
+    /**
+     * Appends the line shown for the task with the given status and note, which are read
+     * once by the caller so that the line matches the state it is cached for. Subclasses
+     * add their type and dates around the status, description and note appended here.
+     *
+     * @param sb     Builder to append to.
+     * @param isDone Status to show.
+     * @param note   Note to show.
+     */
+    protected void render(StringBuilder sb, boolean isDone, Note note) {
+        sb.append('[').append(isDone ? 'X' : ' ').append("] ").append(description);
+        if (!note.isEmpty()) {
+            sb.append(" (Note: ").append(note).append(')');
+        }
+    }
+
+    /**
+     * Represents a rendered line together with the status and note it shows.
+     */
+    private static class RenderedLine {
+        private final boolean isDone;
+        private final Note note;
+        private final String text;
+
+        RenderedLine(boolean isDone, Note note, String text) {
+            this.isDone = isDone;
+            this.note = note;
+            this.text = text;
+        }
     }
 
 }
@@ -35,8 +35,9 @@ public class ToDo extends Task {
     }
 
     @Override
-    public String toString() {
-        return "[T]" + super.toString();
+    protected void render(StringBuilder sb, boolean isDone, Note note) {
+        sb.append("[T]");
+        super.render(sb, isDone, note);
     }
 
 }
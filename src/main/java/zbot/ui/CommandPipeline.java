@@ -0,0 +1,94 @@
+package zbot.ui;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import zbot.ZBot;
+
+/**
+ * Represents a queue of user input that runs on a dedicated thread, one command at a time
+ * and in the order submitted, so that commands and the saves they cause do not block the
+ * thread that submits them.
+ * <p>
+ * Responses are completed on a callback executor, such as the JavaFX application thread.
+ * Shutting down runs the commands still queued, saves any changes waiting to be written
+ * and then completes on the callback executor.
+ */
+public class CommandPipeline {
+    private ZBot zbot;
+    private Executor callbackExecutor;
+    private ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "zbot-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private CompletableFuture<Void> terminated;
+
+    /**
+     * Constructor for CommandPipeline.
+     *
+     * @param zbot             ZBot instance that executes the commands.
+     * @param callbackExecutor Executor that completes the responses.
+     */
+    public CommandPipeline(ZBot zbot, Executor callbackExecutor) {
+        this.zbot = zbot;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Queues the user input to be executed after the input submitted before it.
+     *
+     * @param input User input.
+     * @return Response to the user input, completed on the callback executor, or completed
+     *     exceptionally if the command fails or the pipeline is shut down.
+     */
+    public synchronized CompletableFuture<String> submit(String input) {
+        if (commandExecutor.isShutdown()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Pipeline is shut down."));
+        }
+        return enqueue(() -> zbot.executeInput(input));
+    }
+
+    /**
+     * Stops accepting input, then runs the queued commands and saves any changes waiting
+     * to be written.
+     *
+     * @return Future completed on the callback executor once everything is saved, the
+     *     same one on every call.
+     */
+    public synchronized CompletableFuture<Void> shutdown() {
+        if (terminated == null) {
+            terminated = enqueue(() -> {
+                zbot.close();
+                return null;
+            });
+            commandExecutor.shutdown();
+        }
+        return terminated;
+    }
+
+    /**
+     * Runs the work after the work queued before it and completes the result on the
+     * callback executor.
+     * <p>
+     * The result is completed even if the work throws an error, such as a failed assertion,
+     * so that callers waiting for it, like the window waiting to close, are never stuck.
+     */
+    private <T> CompletableFuture<T> enqueue(Supplier<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        commandExecutor.execute(() -> {
+            try {
+                T value = work.get();
+                callbackExecutor.execute(() -> result.complete(value));
+            } catch (Throwable e) {
+                callbackExecutor.execute(() -> result.completeExceptionally(e));
+            }
+        });
+        return result;
+    }
+
+}
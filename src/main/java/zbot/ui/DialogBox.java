@@ -1,18 +1,17 @@
 package zbot.ui;
 
-import java.io.IOException;
 import java.util.Collections;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's
@@ -20,23 +19,38 @@ import javafx.scene.layout.HBox;
  * and a label containing text from the speaker.
  */
 public class DialogBox extends HBox {
-    @FXML
+    private static final double PICTURE_SIZE = 99.0;
+    private static final double PREF_WIDTH = 400.0;
+    private static final Insets PADDING = new Insets(15.0, 5.0, 15.0, 5.0);
+
     private Label dialog;
-    @FXML
     private ImageView displayPicture;
 
+    private boolean isFlipped;
+
+    /**
+     * Constructor for DialogBox, building the layout of the former DialogBox.fxml in code
+     * so that no FXML is parsed per message.
+     *
+     * @param text Text from the speaker.
+     * @param img  Picture of the speaker.
+     */
     private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        dialog = new Label(text);
+        dialog.setWrapText(true);
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
 
-        dialog.setText(text);
-        displayPicture.setImage(img);
+        displayPicture = new ImageView(img);
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+
+        getChildren().addAll(dialog, displayPicture);
+        setAlignment(Pos.TOP_RIGHT);
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        setPrefWidth(PREF_WIDTH);
+        setPadding(PADDING);
     }
 
     /**
@@ -47,7 +61,23 @@ public class DialogBox extends HBox {
         ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
         Collections.reverse(tmp);
         getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
+        setAlignment(isFlipped ? Pos.TOP_RIGHT : Pos.TOP_LEFT);
+        isFlipped = !isFlipped;
+    }
+
+    /**
+     * Shows another message in this dialog box, so that one box can be reused for many
+     * messages.
+     *
+     * @param message Message to show.
+     * @param img     Picture of the sender.
+     */
+    public void setMessage(Message message, Image img) {
+        dialog.setText(message.getText());
+        displayPicture.setImage(img);
+        if (message.isFromUser() == isFlipped) {
+            flip();
+        }
     }
 
     public static DialogBox getUserDialog(String text, Image img) {
@@ -0,0 +1,46 @@
+package zbot.ui;
+
+import javafx.scene.image.Image;
+
+/**
+ * Creates and refills dialog boxes for messages, sharing one picture of each speaker
+ * between all of them.
+ */
+public class DialogBoxFactory {
+    private Image userImage;
+    private Image zbotImage;
+
+    /**
+     * Constructor for DialogBoxFactory.
+     *
+     * @param userImage Picture of the user.
+     * @param zbotImage Picture of ZBot.
+     */
+    public DialogBoxFactory(Image userImage, Image zbotImage) {
+        this.userImage = userImage;
+        this.zbotImage = zbotImage;
+    }
+
+    /**
+     * Creates a dialog box showing the message.
+     *
+     * @param message Message to show.
+     * @return Dialog box laid out for the sender of the message.
+     */
+    public DialogBox create(Message message) {
+        return message.isFromUser()
+                ? DialogBox.getUserDialog(message.getText(), userImage)
+                : DialogBox.getZBotDialog(message.getText(), zbotImage);
+    }
+
+    /**
+     * Shows another message in an existing dialog box.
+     *
+     * @param dialogBox Dialog box made by this factory.
+     * @param message   Message to show.
+     */
+    public void update(DialogBox dialogBox, Message message) {
+        dialogBox.setMessage(message, message.isFromUser() ? userImage : zbotImage);
+    }
+
+}
@@ -1,64 +1,109 @@
 package zbot.ui;
 
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
+import javafx.util.Duration;
 import zbot.ZBot;
 
 /**
  * Controller for the main GUI.
+ * <p>
+ * The transcript is a list view that only creates dialog boxes for the visible messages
+ * and reuses them while scrolling, so long sessions do not grow the scene graph.
+ * <p>
+ * Commands run on a {@link CommandPipeline} rather than the JavaFX application thread, so
+ * the window stays responsive while they run. A busy indicator is shown when a command
+ * takes longer than a moment.
  */
 public class MainWindow extends AnchorPane {
+    private static final Duration BUSY_DELAY = Duration.millis(200);
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<Message> dialogList;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private ProgressIndicator busyIndicator;
 
-    private ZBot zbot;
+    private CommandPipeline pipeline;
+    private int pendingCount;
+    private PauseTransition busyDelay = new PauseTransition(BUSY_DELAY);
     private Ui ui = new Ui();
+    private Transcript transcript = new Transcript();
 
-    private Image userImage = new Image(this.getClass().getResourceAsStream("/images/default-avatar.jpg"));
-    private Image zbotImage = new Image(this.getClass().getResourceAsStream("/images/zbot-dp.jpg"));
+    private DialogBoxFactory dialogBoxFactory = new DialogBoxFactory(
+            new Image(this.getClass().getResourceAsStream("/images/default-avatar.jpg")),
+            new Image(this.getClass().getResourceAsStream("/images/zbot-dp.jpg")));
 
     /**
      * Initializes the main window.
      */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
-        dialogContainer.getChildren().add(DialogBox.getZBotDialog(ui.intro(), zbotImage));
+        dialogList.setItems(transcript.getMessages());
+        dialogList.setCellFactory(listView -> new MessageCell());
+        busyDelay.setOnFinished(event -> busyIndicator.setVisible(true));
+        addMessages(new Message(ui.intro(), false));
     }
 
-    /** Injects the ZBot instance */
+    /** Injects the ZBot instance, and shows why its saved data could not be loaded if so */
     public void setZbot(ZBot zbot) {
-        this.zbot = zbot;
+        this.pipeline = new CommandPipeline(zbot, Platform::runLater);
+        if (zbot.getLoadErrorMsg() != null) {
+            addMessages(new Message(zbot.getLoadErrorMsg(), false));
+        }
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing
-     * ZBot's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Echoes the user input in the transcript and queues it, adding ZBot's reply once the
+     * command has run. Clears the user input after submitting.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText().trim();
+        userInput.clear();
         if (input.equals("bye")) {
-            // Close the window
-            System.exit(0);
+            exit();
+            return;
         }
-        String response = zbot.executeInput(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getZBotDialog(response, zbotImage));
-        userInput.clear();
+
+        addMessages(new Message(input, true));
+        if (pendingCount++ == 0) {
+            busyDelay.playFromStart();
+        }
+        pipeline.submit(input).whenComplete((response, e) -> {
+            if (--pendingCount == 0) {
+                busyDelay.stop();
+                busyIndicator.setVisible(false);
+            }
+            if (e != null) {
+                e.printStackTrace();
+                addMessages(new Message(ui.generateCommandFailedMsg(), false));
+            } else {
+                addMessages(new Message(response, false));
+            }
+        });
+    }
+
+    /**
+     * Stops taking input and closes the application once the queued commands have run
+     * and all changes are saved.
+     */
+    public void exit() {
+        userInput.setDisable(true);
+        sendButton.setDisable(true);
+        busyIndicator.setVisible(true);
+        pipeline.shutdown().whenComplete((result, e) -> Platform.exit());
     }
 
     /**
@@ -66,7 +111,45 @@ public class MainWindow extends AnchorPane {
      */
     @FXML
     public void showIntroMsg() {
-        String introMsg = ui.intro();
-        dialogContainer.getChildren().add(DialogBox.getZBotDialog(introMsg, zbotImage));
+        addMessages(new Message(ui.intro(), false));
+    }
+
+    /**
+     * Adds messages to the transcript and scrolls to the newest one.
+     */
+    private void addMessages(Message... messages) {
+        transcript.add(messages);
+        dialogList.scrollTo(dialogList.getItems().size() - 1);
+    }
+
+    /**
+     * Represents a row of the transcript, showing each message it is given in the same
+     * dialog box.
+     */
+    private class MessageCell extends ListCell<Message> {
+        private DialogBox dialogBox;
+
+        MessageCell() {
+            // Let the dialog box wrap its text to the width of the list
+            setPrefWidth(0);
+            setStyle("-fx-background-color: transparent; -fx-padding: 0;");
+        }
+
+        @Override
+        protected void updateItem(Message message, boolean isEmpty) {
+            super.updateItem(message, isEmpty);
+            if (isEmpty || message == null) {
+                setGraphic(null);
+                return;
+            }
+
+            if (dialogBox == null) {
+                dialogBox = dialogBoxFactory.create(message);
+                dialogBox.prefWidthProperty().bind(widthProperty());
+            } else {
+                dialogBoxFactory.update(dialogBox, message);
+            }
+            setGraphic(dialogBox);
+        }
     }
 }
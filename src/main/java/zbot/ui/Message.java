@@ -0,0 +1,39 @@
+package zbot.ui;
+
+/**
+ * Represents a message shown in the chat transcript.
+ */
+public class Message {
+    private final String text;
+    private final boolean isFromUser;
+
+    /**
+     * Constructor for Message.
+     *
+     * @param text       Text of the message.
+     * @param isFromUser True if the user sent the message, false if ZBot did.
+     */
+    public Message(String text, boolean isFromUser) {
+        this.text = text;
+        this.isFromUser = isFromUser;
+    }
+
+    /**
+     * Returns the text of the message.
+     *
+     * @return Text of the message.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns whether the user sent the message.
+     *
+     * @return True if the user sent the message, false if ZBot did.
+     */
+    public boolean isFromUser() {
+        return isFromUser;
+    }
+
+}
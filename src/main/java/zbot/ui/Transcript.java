@@ -0,0 +1,62 @@
+package zbot.ui;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Represents the messages of a chat session, keeping at most a fixed number of the most
+ * recent ones.
+ * <p>
+ * The limit is read from the system property {@code zbot.scrollback} and defaults to
+ * 100,000 messages. Once the limit is exceeded, the oldest tenth of the limit is dropped
+ * at once, so that the remaining messages are shifted only once every so many additions.
+ */
+public class Transcript {
+    private static final String SCROLLBACK_PROPERTY = "zbot.scrollback";
+    private static final int DEFAULT_SCROLLBACK = 100_000;
+    private static final int TRIM_FRACTION = 10;
+
+    private ObservableList<Message> messages = FXCollections.observableArrayList();
+    private int scrollbackLimit;
+
+    /**
+     * Constructor for Transcript, using the scroll-back limit from the system property.
+     */
+    public Transcript() {
+        this(Integer.getInteger(SCROLLBACK_PROPERTY, DEFAULT_SCROLLBACK));
+    }
+
+    /**
+     * Constructor for Transcript.
+     *
+     * @param scrollbackLimit Maximum number of messages kept.
+     */
+    public Transcript(int scrollbackLimit) {
+        assert scrollbackLimit > 0 : "At least one message should be kept.";
+        this.scrollbackLimit = scrollbackLimit;
+    }
+
+    /**
+     * Adds messages to the end, dropping the oldest ones in a batch if the scroll-back limit
+     * is exceeded.
+     *
+     * @param added Messages to add.
+     */
+    public void add(Message... added) {
+        messages.addAll(added);
+        int excess = messages.size() - scrollbackLimit;
+        if (excess > 0) {
+            messages.remove(0, Math.min(messages.size(), excess + scrollbackLimit / TRIM_FRACTION));
+        }
+    }
+
+    /**
+     * Returns the kept messages, oldest first, for display.
+     *
+     * @return Read-only observable list of messages.
+     */
+    public ObservableList<Message> getMessages() {
+        return FXCollections.unmodifiableObservableList(messages);
+    }
+
+}
@@ -1,7 +1,10 @@
 package zbot.ui;
 
+import java.util.Map;
 import java.util.Scanner;
 
+import zbot.metrics.LatencyHistogram;
+import zbot.metrics.Metrics;
 import zbot.task.Task;
 
 /**
@@ -79,6 +82,39 @@ public class Ui {
         return response.toString();
     }
 
+    /**
+     * Returns message when several tasks are deleted.
+     *
+     * @param count Number of tasks deleted.
+     * @param size  Number of tasks left in the list.
+     */
+    public String generateDeleteTasksMsg(int count, int size) {
+        return "Noted. I've removed " + countTasks(count) + ".\n"
+                + "Now you have " + size + " tasks in the list.\n";
+    }
+
+    /**
+     * Returns message when several tasks are marked as done.
+     *
+     * @param count Number of tasks marked.
+     */
+    public String generateMarkTasksMsg(int count) {
+        return "Nice! I've marked " + countTasks(count) + " as done.\n";
+    }
+
+    /**
+     * Returns message when several tasks are marked as not done.
+     *
+     * @param count Number of tasks unmarked.
+     */
+    public String generateUnmarkTasksMsg(int count) {
+        return "OK, I've marked " + countTasks(count) + " as not done yet.\n";
+    }
+
+    private static String countTasks(int count) {
+        return count == 1 ? "1 task" : count + " tasks";
+    }
+
     /**
      * Prints the error message when the no saved file is found.
      */
@@ -86,6 +122,26 @@ public class Ui {
         System.out.println("No saved data found. Starting with an empty task list...\n");
     }
 
+    /**
+     * Prints the error message when the saved data cannot be read.
+     *
+     * @param reason Reason the saved data cannot be read.
+     */
+    public void printReadOnlyError(String reason) {
+        System.out.println(generateReadOnlyMsg(reason));
+    }
+
+    /**
+     * Returns the error message when the saved data cannot be read.
+     *
+     * @param reason Reason the saved data cannot be read.
+     * @return The error message.
+     */
+    public String generateReadOnlyMsg(String reason) {
+        return reason + "\nStarting with an empty task list. Changes will not be saved, "
+                + "so the saved data is kept as it is.\n";
+    }
+
     /**
      * Reads the input from the user.
      */
@@ -103,4 +159,85 @@ public class Ui {
         return response.toString();
     }
 
+    /**
+     * Returns message when the command is not in a valid format.
+     */
+    public String generateInvalidFormatMsg() {
+        return "Please enter a valid task format!\n";
+    }
+
+    /**
+     * Returns message when a date or time is not in a valid format.
+     */
+    public String generateInvalidDateMsg() {
+        return "Please enter a valid date and time format (dd/MM/yyyy HHmm, dd/MM/yyyy)!\n";
+    }
+
+    /**
+     * Returns message when the task number does not refer to a task.
+     */
+    public String generateInvalidTaskNumberMsg() {
+        return "Please enter a valid task number!\n";
+    }
+
+    /**
+     * Returns message when a command fails unexpectedly.
+     */
+    public String generateCommandFailedMsg() {
+        return "Sorry, something went wrong while running that command.\n";
+    }
+
+    /**
+     * Returns message listing how long commands, loads and saves have taken.
+     *
+     * @param metrics Recorded durations.
+     */
+    public String generateStatsMsg(Metrics metrics) {
+        StringBuilder response = new StringBuilder();
+        if (!metrics.isEnabled()) {
+            response.append("Statistics are not being recorded.\n");
+        }
+
+        response.append("Commands:\n");
+        for (Map.Entry<String, LatencyHistogram> entry : metrics.getCommandLatencies().entrySet()) {
+            appendLatency(response, entry.getKey(), entry.getValue());
+        }
+
+        response.append("Storage:\n");
+        appendLatency(response, "load", metrics.getLoadLatency());
+        appendLatency(response, "save", metrics.getSaveLatency());
+        appendLatency(response, "journal", metrics.getJournalAppendLatency());
+        response.append("  ").append(metrics.getBytesWritten()).append(" bytes written\n");
+        return response.toString();
+    }
+
+    /**
+     * Appends a line summarizing the durations of an operation.
+     */
+    private static void appendLatency(StringBuilder sb, String name, LatencyHistogram histogram) {
+        sb.append("  ").append(name).append(": ").append(histogram.getCount())
+                .append(histogram.getCount() == 1 ? " run" : " runs");
+        if (histogram.getCount() > 0) {
+            sb.append(", mean ").append(formatNanos(histogram.getMeanNanos()))
+                    .append(", p50 ").append(formatNanos(histogram.getPercentileNanos(50)))
+                    .append(", p99 ").append(formatNanos(histogram.getPercentileNanos(99)))
+                    .append(", max ").append(formatNanos(histogram.getMaxNanos()));
+        }
+        sb.append("\n");
+    }
+
+    /**
+     * Returns a duration in the largest unit that keeps it at least 1.
+     */
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + " ns";
+        } else if (nanos < 1_000_000) {
+            return nanos / 1_000 + " us";
+        } else if (nanos < 1_000_000_000) {
+            return nanos / 1_000_000 + " ms";
+        }
+        return nanos / 1_000_000_000 + " s";
+    }
+
 }
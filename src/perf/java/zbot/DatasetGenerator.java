@@ -0,0 +1,140 @@
+package zbot;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import zbot.task.Deadline;
+import zbot.task.Event;
+import zbot.task.Task;
+import zbot.task.ToDo;
+
+/**
+ * Writes task files of realistic, reproducible tasks for performance tests.
+ * <p>
+ * Usage: {@code DatasetGenerator [--seed N] [--tasks N] TARGET}
+ * <p>
+ * Half of the tasks are todos, 30% deadlines and 20% events. Descriptions mix English
+ * words with accented, Cyrillic, CJK and emoji words, 40% of the tasks are done, and a
+ * fifth have notes. The same seed and count always give the same file.
+ */
+public class DatasetGenerator {
+    private static final long DEFAULT_SEED = 42;
+    private static final int DEFAULT_TASK_COUNT = 1_000_000;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String USAGE = "Usage: DatasetGenerator [--seed N] [--tasks N] TARGET";
+
+    private static final String[] WORDS = {
+        "read", "book", "return", "write", "essay", "project", "meeting", "buy", "milk", "call",
+        "review", "code", "submit", "report", "plan", "trip", "clean", "room", "pay", "rent",
+        "gym", "lecture", "tutorial", "assignment", "exam", "dentist", "groceries", "laundry",
+        // Accented, Cyrillic, Japanese and emoji words, written as escapes
+        "caf\u00e9", "na\u00efve", "r\u00e9sum\u00e9", "M\u00fcnchen", "\u00fcben",
+        "\u0437\u0430\u0434\u0430\u0447\u0430", "\u4f1a\u8b70", "\u5bbf\u984c", "\u8cb7\u3044\u7269",
+        "\ud83c\udf89", "\ud83d\udcda"
+    };
+    private static final String[] NOTES = {
+        "bring laptop", "room 3-14", "ask about deadline extension", "see email from prof",
+        "link: https://example.com/notes", "\u5fd8\u308c\u306a\u3044\u3067", "\u00e0 faire avant midi"
+    };
+    private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final int DATE_RANGE_MINUTES = 10 * 365 * 24 * 60;
+
+    public static void main(String[] args) {
+        long seed = DEFAULT_SEED;
+        int taskCount = DEFAULT_TASK_COUNT;
+        String target = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--seed") && i + 1 < args.length) {
+                    seed = Long.parseLong(args[++i]);
+                } else if (args[i].equals("--tasks") && i + 1 < args.length) {
+                    taskCount = Integer.parseInt(args[++i]);
+                } else if (target == null && !args[i].startsWith("--")) {
+                    target = args[i];
+                } else {
+                    System.out.println(USAGE);
+                    return;
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        if (target == null || taskCount < 0) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        try {
+            generate(Path.of(target), taskCount, seed);
+            System.out.println("Generated " + taskCount + " tasks in " + target);
+        } catch (IOException e) {
+            System.out.println("I/O error occurred.");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes a task file with the given number of tasks.
+     *
+     * @param target    Path of the task file, which is replaced if it exists.
+     * @param taskCount Number of tasks.
+     * @param seed      Seed of the random tasks.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void generate(Path target, int taskCount, long seed) throws IOException {
+        Random random = new Random(seed);
+        StringBuilder line = new StringBuilder();
+
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(target, StandardCharsets.UTF_8),
+                BUFFER_SIZE)) {
+            for (int i = 0; i < taskCount; i++) {
+                line.setLength(0);
+                Storage.encodeTask(generateTask(random), line);
+                line.append('\n');
+                writer.append(line);
+            }
+        }
+    }
+
+    /**
+     * Returns a random task.
+     */
+    private static Task generateTask(Random random) {
+        StringBuilder description = new StringBuilder();
+        int wordCount = 2 + random.nextInt(5);
+        for (int i = 0; i < wordCount; i++) {
+            if (i > 0) {
+                description.append(' ');
+            }
+            description.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+
+        String note = random.nextInt(5) == 0 ? NOTES[random.nextInt(NOTES.length)] : "";
+        LocalDateTime date = START.plusMinutes(random.nextInt(DATE_RANGE_MINUTES));
+        int type = random.nextInt(10);
+
+        Task task;
+        if (type < 5) {
+            task = new ToDo(description.toString(), note);
+        } else if (type < 8) {
+            task = new Deadline(description.toString(), date, note);
+        } else {
+            task = new Event(description.toString(), date, date.plusMinutes(30 + random.nextInt(3 * 24 * 60)), note);
+        }
+
+        if (random.nextInt(5) < 2) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+}
@@ -0,0 +1,215 @@
+package zbot;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Checks the time to load, query and save a large generated task file, and the heap the
+ * loaded tasks take, against a stored baseline.
+ * <p>
+ * Usage: {@code PerformanceCheck --baseline FILE [--update] [--work DIR]}
+ * <p>
+ * Each measurement is the best of several runs. The check fails, with exit status 1, if
+ * any measurement exceeds its baseline by more than the tolerance stored in the baseline.
+ * With {@code --update}, the measurements are stored as the new baseline instead.
+ */
+public class PerformanceCheck {
+    private static final String USAGE = "Usage: PerformanceCheck --baseline FILE [--update] [--work DIR]";
+    private static final int RUNS = 3;
+    private static final long SEED = 42;
+    private static final String TASK_COUNT_KEY = "taskCount";
+    private static final String TOLERANCE_KEY = "tolerance";
+    private static final int DEFAULT_TASK_COUNT = 1_000_000;
+    private static final String DEFAULT_TOLERANCE = "0.5";
+
+    private int taskCount;
+    private Path dataPath;
+    private Path savePath;
+
+    /**
+     * Constructor for PerformanceCheck.
+     *
+     * @param taskCount Number of tasks to generate.
+     * @param workPath  Directory for the generated and saved task files.
+     */
+    PerformanceCheck(int taskCount, Path workPath) {
+        this.taskCount = taskCount;
+        this.dataPath = workPath.resolve("tasks.txt");
+        this.savePath = workPath.resolve("saved.txt");
+    }
+
+    public static void main(String[] args) {
+        Path baselinePath = null;
+        Path workPath = Path.of("build", "perf");
+        boolean isUpdate = false;
+
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--baseline") && i + 1 < args.length) {
+                baselinePath = Path.of(args[++i]);
+            } else if (args[i].equals("--work") && i + 1 < args.length) {
+                workPath = Path.of(args[++i]);
+            } else if (args[i].equals("--update")) {
+                isUpdate = true;
+            } else {
+                System.out.println(USAGE);
+                System.exit(2);
+            }
+        }
+
+        if (baselinePath == null) {
+            System.out.println(USAGE);
+            System.exit(2);
+        }
+
+        try {
+            Properties baseline = loadBaseline(baselinePath);
+            int taskCount = Integer.parseInt(baseline.getProperty(TASK_COUNT_KEY, "" + DEFAULT_TASK_COUNT));
+            Files.createDirectories(workPath);
+
+            Map<String, Long> measurements = new PerformanceCheck(taskCount, workPath).measure();
+            if (isUpdate) {
+                saveBaseline(baselinePath, baseline, measurements);
+                System.out.println("Updated baseline " + baselinePath);
+            } else if (!compare(baseline, measurements)) {
+                System.exit(1);
+            }
+        } catch (IOException | ZBotException e) {
+            System.out.println("I/O error occurred.");
+            e.printStackTrace();
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Generates the task file and measures loading, querying and saving it.
+     *
+     * @return Best measurement of each kind, by name.
+     * @throws IOException   If the task files cannot be written.
+     * @throws ZBotException If the generated task file cannot be loaded.
+     */
+    Map<String, Long> measure() throws IOException, ZBotException {
+        DatasetGenerator.generate(dataPath, taskCount, SEED);
+        Files.deleteIfExists(Path.of(dataPath + ".journal"));
+
+        long startupMillis = Long.MAX_VALUE;
+        long queryMillis = Long.MAX_VALUE;
+        long saveMillis = Long.MAX_VALUE;
+        long heapBytes = Long.MAX_VALUE;
+        TaskList tasks = null;
+
+        for (int run = 0; run < RUNS; run++) {
+            // Drop the tasks of the previous run so they are not counted twice
+            tasks = null;
+            long heapBefore = usedHeap();
+
+            // Load the way ZBot does on startup
+            long start = System.nanoTime();
+            tasks = new TaskList(new Storage(dataPath.toString(), true).load(), TaskList.Backing.CONCURRENT);
+            startupMillis = Math.min(startupMillis, millisSince(start));
+            assert tasks.size() == taskCount : "All generated tasks should be loaded.";
+
+            heapBytes = Math.min(heapBytes, usedHeap() - heapBefore);
+
+            // The first queries also build the indexes
+            start = System.nanoTime();
+            runQueries(tasks);
+            queryMillis = Math.min(queryMillis, millisSince(start));
+
+            start = System.nanoTime();
+            new Storage(savePath.toString(), true).save(tasks);
+            saveMillis = Math.min(saveMillis, millisSince(start));
+        }
+
+        Map<String, Long> measurements = new LinkedHashMap<>();
+        measurements.put("startupMillis", startupMillis);
+        measurements.put("queryMillis", queryMillis);
+        measurements.put("saveMillis", saveMillis);
+        measurements.put("heapBytesPerTask", heapBytes / Math.max(taskCount, 1));
+        return measurements;
+    }
+
+    /**
+     * Runs the kinds of queries users make, keeping the results from being optimized away.
+     */
+    private static void runQueries(TaskList tasks) {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+        int matchCount = tasks.findByKeyword("report").length
+                + tasks.findByKeyword("read book").length
+                + tasks.findByWord("exam").length
+                + tasks.findByPrefix("lec").length
+                + tasks.findByStatus(false).length
+                + tasks.findDeadlinesBetween(from, to).length
+                + tasks.findEventsOverlapping(from, to).length;
+        assert matchCount > 0 : "Queries should match some generated tasks.";
+    }
+
+    /**
+     * Prints each measurement next to its budget and returns whether all are within it.
+     */
+    private static boolean compare(Properties baseline, Map<String, Long> measurements) {
+        double tolerance = Double.parseDouble(baseline.getProperty(TOLERANCE_KEY, DEFAULT_TOLERANCE));
+        boolean isWithinBudget = true;
+
+        System.out.printf("%-18s %10s %10s %10s%n", "Measurement", "Current", "Baseline", "Budget");
+        for (Map.Entry<String, Long> entry : measurements.entrySet()) {
+            String stored = baseline.getProperty(entry.getKey());
+            if (stored == null) {
+                System.out.printf("%-18s %10d %10s %10s  no baseline%n", entry.getKey(), entry.getValue(), "-", "-");
+                continue;
+            }
+
+            long budget = (long) Math.ceil(Long.parseLong(stored) * (1 + tolerance));
+            boolean isRegressed = entry.getValue() > budget;
+            isWithinBudget &= !isRegressed;
+            System.out.printf("%-18s %10d %10s %10d  %s%n", entry.getKey(), entry.getValue(), stored, budget,
+                    isRegressed ? "REGRESSED" : "ok");
+        }
+        return isWithinBudget;
+    }
+
+    private static Properties loadBaseline(Path path) throws IOException {
+        Properties baseline = new Properties();
+        if (Files.exists(path)) {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                baseline.load(reader);
+            }
+        }
+        return baseline;
+    }
+
+    private static void saveBaseline(Path path, Properties baseline, Map<String, Long> measurements)
+            throws IOException {
+        baseline.putIfAbsent(TASK_COUNT_KEY, "" + DEFAULT_TASK_COUNT);
+        baseline.putIfAbsent(TOLERANCE_KEY, DEFAULT_TOLERANCE);
+        measurements.forEach((key, value) -> baseline.setProperty(key, "" + value));
+
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            baseline.store(writer, "Baseline for PerformanceCheck; regenerate with ./gradlew perfTest -PperfUpdate");
+        }
+    }
+
+    /**
+     * Returns the heap in use after collecting garbage.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 2; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+}
@@ -1,9 +1,11 @@
 package zbot;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 import org.junit.jupiter.api.Test;
 
@@ -26,4 +28,30 @@ public class ParserTest {
         LocalDateTime dateTime = LocalDateTime.of(2024, 4, 1, 1, 59);
         assertEquals("01/04/2024 0159", Parser.formatDateTimeToInput(dateTime));
     }
+
+    @Test
+    public void testParseDateTimeParity() {
+        assertEquals(LocalDateTime.of(2024, 4, 1, 23, 59), Parser.parseDateTime("01/04/2024"));
+
+        // dates the fixed layout does not cover behave as they do with the formatter
+        assertEquals(LocalDateTime.of(2024, 4, 30, 18, 0), Parser.parseDateTime("31/04/2024 1800"));
+        assertEquals(LocalDateTime.of(2024, 4, 2, 0, 0), Parser.parseDateTime("01/04/2024 2400"));
+        assertThrows(DateTimeParseException.class, () -> Parser.parseDateTime("1/4/2024"));
+        assertThrows(DateTimeParseException.class, () -> Parser.parseDateTime("01/13/2024"));
+        assertThrows(DateTimeParseException.class, () -> Parser.parseDateTime("01/04/2024 1860"));
+        assertThrows(DateTimeParseException.class, () -> Parser.parseDateTime("00/04/0000"));
+        assertThrows(DateTimeParseException.class, () -> Parser.parseDateTime(" 01/04/2024"));
+    }
+
+    @Test
+    public void testAppendDateTime() {
+        StringBuilder sb = new StringBuilder("by ");
+        Parser.appendDateTimeForInput(sb, LocalDateTime.of(987, 12, 3, 9, 5));
+        assertEquals("by 03/12/0987 0905", sb.toString());
+        assertEquals("03/12/+10000 0905", Parser.formatDateTimeToInput(LocalDateTime.of(10000, 12, 3, 9, 5)));
+
+        sb.setLength(0);
+        Parser.appendDateTimeForOutput(sb, LocalDateTime.of(2024, 4, 1, 1, 59));
+        assertEquals("1 Apr 2024 01:59", sb.toString());
+    }
 }
@@ -0,0 +1,98 @@
+package zbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+public class ServerTest {
+
+    private String tmpFilePath = "./tmp/server.txt";
+
+    @Test
+    public void testResponseFraming() throws IOException {
+        StringWriter writer = new StringWriter();
+        Server.writeResponse(writer, "first\n.hidden\n\nlast");
+        Server.writeResponse(writer, "");
+        assertEquals("first\n..hidden\n\nlast\n.\n.\n", writer.toString());
+
+        BufferedReader reader = new BufferedReader(new StringReader(writer.toString()));
+        assertEquals("first\n.hidden\n\nlast\n", Server.readResponse(reader));
+        assertEquals("", Server.readResponse(reader));
+        assertNull(Server.readResponse(reader));
+    }
+
+    @Test
+    public void testServe() throws IOException, InterruptedException {
+        new File(tmpFilePath).delete();
+        Server server = new Server(new ZBot(tmpFilePath), 0);
+        Thread serving = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+        serving.start();
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer writer = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            writer.write("todo read book\nfind /word book\nbye\n");
+            writer.flush();
+
+            Server.readResponse(reader);
+            assertEquals("1. [T][ ] read book\n", Server.readResponse(reader));
+            assertNull(Server.readResponse(reader));
+        }
+
+        server.close();
+        serving.join();
+    }
+
+    @Test
+    public void testCloseWithOpenConnection() throws IOException, InterruptedException {
+        new File(tmpFilePath).delete();
+        Server server = new Server(new ZBot(tmpFilePath), 0);
+        Thread serving = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+        serving.start();
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer writer = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setSoTimeout(10_000);
+            writer.write("todo read book\n");
+            writer.flush();
+            Server.readResponse(reader);
+
+            // the server closes connections that are still open instead of waiting for them
+            server.close();
+            assertNull(Server.readResponse(reader));
+        }
+        serving.join();
+    }
+
+}
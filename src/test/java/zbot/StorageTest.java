@@ -1,11 +1,16 @@
 package zbot;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.Scanner;
 
@@ -117,4 +122,303 @@ public class StorageTest {
             e.printStackTrace();
         }
     }
+
+    @Test
+    public void testJournalReplay() throws Exception {
+        File file = new File(tmpFilePath);
+        File journal = new File(tmpFilePath + ".journal");
+        file.delete();
+        journal.delete();
+
+        // mutate through a journaled storage
+        Storage storage = new Storage(tmpFilePath, true);
+        TaskList tasks = new TaskList();
+        ToDo todo = new ToDo("test");
+        tasks.add(todo);
+        storage.saveAdd(tasks, todo);
+        Deadline deadline = new Deadline("test", LocalDateTime.of(2021, 8, 23, 0, 0));
+        tasks.add(deadline);
+        storage.saveAdd(tasks, deadline);
+        deadline.markAsDone();
+        storage.saveMark(tasks, 1);
+        deadline.addNote("a|b");
+        storage.saveNote(tasks, 1, "a|b");
+        tasks.remove(0);
+        storage.saveDelete(tasks, 0);
+
+        // snapshot is untouched, journal holds the mutations
+        assertEquals(0, file.length());
+        assertTrue(journal.length() > 0);
+
+        // replay on load
+        TaskList loadedTasks = new TaskList(new Storage(tmpFilePath, true).load());
+        assertEquals(1, loadedTasks.size());
+        assertEquals("[D][X] test (Note: a|b) (by: 23 Aug 2021 00:00)", loadedTasks.get(0).toString());
+
+        file.delete();
+        journal.delete();
+    }
+
+    @Test
+    public void testJournalReplayBatch() throws Exception {
+        File file = new File(tmpFilePath);
+        File journal = new File(tmpFilePath + ".journal");
+        file.delete();
+        journal.delete();
+
+        Storage storage = new Storage(tmpFilePath, true);
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 10; i++) {
+            ToDo todo = new ToDo("task " + i);
+            tasks.add(todo);
+            storage.saveAdd(tasks, todo);
+        }
+        tasks.markAsDone(new int[] {0, 1, 2, 3, 7});
+        storage.saveMarkAll(tasks, new int[] {0, 1, 2, 3, 7});
+        tasks.markAsUndone(new int[] {2});
+        storage.saveUnmarkAll(tasks, new int[] {2});
+        tasks.removeAll(new int[] {1, 4, 5, 9});
+        storage.saveDeleteAll(tasks, new int[] {1, 4, 5, 9});
+
+        TaskList loadedTasks = new TaskList(new Storage(tmpFilePath, true).load());
+        assertEquals(tasks.toString(), loadedTasks.toString());
+        assertEquals("[[T][X] task 0, [T][ ] task 2, [T][X] task 3, [T][ ] task 6, [T][X] task 7, "
+                + "[T][ ] task 8]", loadedTasks.toString());
+
+        file.delete();
+        journal.delete();
+    }
+
+    @Test
+    public void testJournalCompaction() throws Exception {
+        File file = new File(tmpFilePath);
+        File journal = new File(tmpFilePath + ".journal");
+        file.delete();
+        journal.delete();
+
+        Storage storage = new Storage(tmpFilePath, true);
+        storage.setCompactionThreshold(32);
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 10; i++) {
+            ToDo todo = new ToDo("test " + i);
+            tasks.add(todo);
+            storage.saveAdd(tasks, todo);
+        }
+
+        // journal never grows far past the threshold
+        assertTrue(journal.length() <= 32);
+        assertTrue(file.length() > 0);
+
+        TaskList loadedTasks = new TaskList(new Storage(tmpFilePath, true).load());
+        assertEquals(10, loadedTasks.size());
+        assertEquals("[T][ ] test 9", loadedTasks.get(9).toString());
+
+        file.delete();
+        journal.delete();
+    }
+
+    @Test
+    public void testRecoverInterruptedCompaction() throws Exception {
+        File file = new File(tmpFilePath);
+        File journal = new File(tmpFilePath + ".journal");
+        File temp = new File(tmpFilePath + ".tmp");
+        File length = new File(tmpFilePath + ".tmp.length");
+        file.delete();
+        journal.delete();
+
+        Storage storage = new Storage(tmpFilePath, true);
+        TaskList tasks = new TaskList();
+        tasks.add(new ToDo("test 0"));
+        tasks.add(new ToDo("test 1"));
+        storage.save(tasks);
+
+        // a temporary snapshot cut short while the journal is empty is discarded
+        FileWriter fw = new FileWriter(temp);
+        fw.write("T|0|test 0\n");
+        fw.close();
+        assertEquals(2, new Storage(tmpFilePath, true).load().size());
+        assertTrue(!temp.exists());
+
+        // a temporary snapshot with its recorded length is moved into place
+        fw = new FileWriter(temp);
+        fw.write("T|0|test 0\n");
+        fw.close();
+        fw = new FileWriter(length);
+        fw.write(Long.toString(temp.length()));
+        fw.close();
+        assertEquals(1, new Storage(tmpFilePath, true).load().size());
+        assertTrue(!temp.exists() && !length.exists());
+
+        file.delete();
+        journal.delete();
+    }
+
+    @Test
+    public void testCloseWriteBehind() throws Exception {
+        File file = new File(tmpFilePath);
+        File journal = new File(tmpFilePath + ".journal");
+        file.delete();
+        journal.delete();
+
+        Storage storage = new Storage(tmpFilePath, true);
+        storage.enableWriteBehind(60_000, 1000);
+        TaskList tasks = new TaskList();
+        ToDo todo = new ToDo("test 0");
+        tasks.add(todo);
+        storage.saveAdd(tasks, todo);
+
+        // closing writes the pending record, and later records are written right away
+        storage.close();
+        assertEquals(1, new Storage(tmpFilePath, true).load().size());
+        todo = new ToDo("test 1");
+        tasks.add(todo);
+        storage.saveAdd(tasks, todo);
+        assertEquals(2, new Storage(tmpFilePath, true).load().size());
+
+        file.delete();
+        journal.delete();
+    }
+
+    @Test
+    public void testSaveLoadBinary() throws Exception {
+        Storage storage = new Storage(tmpFilePath);
+        storage.setFormat(Storage.Format.BINARY);
+        TaskList tasks = new TaskList();
+        tasks.add(new ToDo("test", "note \u00e9\u4e2d"));
+        tasks.add(new Deadline("test", LocalDateTime.of(2021, 8, 23, 0, 0)));
+        tasks.add(new Event("test", LocalDateTime.of(2021, 8, 23, 0, 0),
+                LocalDateTime.of(2021, 8, 24, 13, 30)));
+        tasks.get(1).markAsDone();
+        storage.save(tasks);
+
+        // load detects the binary format from the header, and later saves keep it
+        Storage loadingStorage = new Storage(tmpFilePath);
+        TaskList loadedTasks = new TaskList(loadingStorage.load());
+        assertTrue(loadingStorage.save(loadedTasks));
+        assertTrue(BinarySnapshot.isBinary(Path.of(tmpFilePath)));
+        assertEquals(3, loadedTasks.size());
+        assertEquals("[T][ ] test (Note: note \u00e9\u4e2d)", loadedTasks.get(0).toString());
+        assertEquals("[D][X] test (by: 23 Aug 2021 00:00)", loadedTasks.get(1).toString());
+        assertEquals("[E][ ] test (from: 23 Aug 2021 00:00 to: 24 Aug 2021 13:30)",
+                loadedTasks.get(2).toString());
+
+        new File(tmpFilePath).delete();
+    }
+
+    @Test
+    public void testLoadCorruptBinary() throws Exception {
+        Storage storage = new Storage(tmpFilePath);
+        storage.setFormat(Storage.Format.BINARY);
+        TaskList tasks = new TaskList();
+        tasks.add(new ToDo("test"));
+        storage.save(tasks);
+
+        // a negative description length fails the load, and the file is not saved over
+        byte[] bytes = Files.readAllBytes(Path.of(tmpFilePath));
+        bytes[11] = (byte) 0xff;
+        Files.write(Path.of(tmpFilePath), bytes);
+        Storage corruptStorage = new Storage(tmpFilePath);
+        assertThrows(ZBotException.class, corruptStorage::load);
+        assertFalse(corruptStorage.save(new TaskList()));
+        assertArrayEquals(bytes, Files.readAllBytes(Path.of(tmpFilePath)));
+
+        // so does a datetime out of range
+        tasks = new TaskList();
+        tasks.add(new Deadline("test", LocalDateTime.of(2021, 8, 23, 0, 0)));
+        storage.save(tasks);
+        bytes = Files.readAllBytes(Path.of(tmpFilePath));
+        bytes[bytes.length - 8] = (byte) 0x7f;
+        Files.write(Path.of(tmpFilePath), bytes);
+        assertThrows(ZBotException.class, new Storage(tmpFilePath)::load);
+        assertArrayEquals(bytes, Files.readAllBytes(Path.of(tmpFilePath)));
+
+        new File(tmpFilePath).delete();
+    }
+
+    @Test
+    public void testLoadInParallel() throws Exception {
+        // write a file large enough to be split into several chunks
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sb.append("D|").append(i % 2).append("|task ").append(i).append("|23/08/2021 0000\n");
+        }
+        FileWriter fw = new FileWriter(tmpFilePath);
+        fw.write(sb.toString());
+        fw.close();
+
+        Storage sequentialStorage = new Storage(tmpFilePath);
+        Storage parallelStorage = new Storage(tmpFilePath);
+        parallelStorage.setParallelLoadThreshold(0);
+
+        // task numbering is the same as in a sequential load
+        TaskList sequentialTasks = new TaskList(sequentialStorage.load());
+        TaskList parallelTasks = new TaskList(parallelStorage.load());
+        assertEquals(20000, parallelTasks.size());
+        for (int i = 0; i < parallelTasks.size(); i++) {
+            assertEquals(sequentialTasks.get(i).toString(), parallelTasks.get(i).toString());
+        }
+
+        new File(tmpFilePath).delete();
+    }
+
+    @Test
+    public void testLoadInvalidDate() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sb.append("D|0|task ").append(i).append(i == 15000 ? "|23/13/2021\n" : "|23/08/2021 0000\n");
+        }
+        FileWriter fw = new FileWriter(tmpFilePath);
+        fw.write(sb.toString());
+        fw.close();
+
+        Storage sequentialStorage = new Storage(tmpFilePath);
+        Storage parallelStorage = new Storage(tmpFilePath);
+        parallelStorage.setParallelLoadThreshold(0);
+
+        byte[] bytes = Files.readAllBytes(Path.of(tmpFilePath));
+
+        // no partial list is returned, and it is not saved over the file
+        assertThrows(ZBotException.class, sequentialStorage::load);
+        assertThrows(ZBotException.class, parallelStorage::load);
+        assertFalse(sequentialStorage.save(new TaskList()));
+        assertFalse(parallelStorage.save(new TaskList()));
+        assertArrayEquals(bytes, Files.readAllBytes(Path.of(tmpFilePath)));
+
+        new File(tmpFilePath).delete();
+    }
+
+    @Test
+    public void testLoadInvalidDateWithJournal() throws Exception {
+        File journal = new File(tmpFilePath + ".journal");
+        journal.delete();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append("D|0|task ").append(i).append(i == 50 ? "|23/13/2021\n" : "|23/08/2021 0000\n");
+        }
+        FileWriter fw = new FileWriter(tmpFilePath);
+        fw.write(sb.toString());
+        fw.close();
+        fw = new FileWriter(journal);
+        fw.write("ADD|T|0|journaled\nDELETE|0\n");
+        fw.close();
+        byte[] snapshotBytes = Files.readAllBytes(Path.of(tmpFilePath));
+        byte[] journalBytes = Files.readAllBytes(journal.toPath());
+
+        Storage storage = new Storage(tmpFilePath, true);
+        storage.setCompactionThreshold(0);
+        assertThrows(ZBotException.class, storage::load);
+        assertTrue(storage.isReadOnly());
+
+        // neither appends nor compactions replace the files that could not be loaded
+        TaskList tasks = new TaskList();
+        ToDo todo = new ToDo("test");
+        tasks.add(todo);
+        storage.saveAdd(tasks, todo);
+        assertFalse(storage.save(tasks));
+        assertArrayEquals(snapshotBytes, Files.readAllBytes(Path.of(tmpFilePath)));
+        assertArrayEquals(journalBytes, Files.readAllBytes(journal.toPath()));
+
+        new File(tmpFilePath).delete();
+        journal.delete();
+    }
 }
@@ -0,0 +1,249 @@
+package zbot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import zbot.task.Deadline;
+import zbot.task.Event;
+import zbot.task.Task;
+import zbot.task.ToDo;
+
+public class TaskListTest {
+
+    private TaskList createTasks() {
+        TaskList tasks = new TaskList();
+        tasks.add(new ToDo("read book"));
+        tasks.add(new ToDo("return book"));
+        tasks.add(new ToDo("look at code"));
+        tasks.add(new ToDo("bookkeeping"));
+        return tasks;
+    }
+
+    @Test
+    public void testFindByKeyword() {
+        TaskList tasks = createTasks();
+        assertArrayEquals(new int[] {0, 1, 3}, tasks.findByKeyword("book"));
+        assertArrayEquals(new int[] {2}, tasks.findByKeyword("at co"));
+        assertArrayEquals(new int[] {}, tasks.findByKeyword("Book"));
+    }
+
+    @Test
+    public void testFindByWordAndPrefix() {
+        TaskList tasks = createTasks();
+        assertArrayEquals(new int[] {0, 1}, tasks.findByWord("book"));
+        assertArrayEquals(new int[] {0, 1}, tasks.findByPrefix("re"));
+        assertArrayEquals(new int[] {0, 1, 3}, tasks.findByPrefix("book"));
+    }
+
+    @Test
+    public void testFindAfterMutations() {
+        TaskList tasks = createTasks();
+        tasks.findByWord("book");
+
+        // index is kept up to date once built
+        tasks.remove(0);
+        tasks.add(new ToDo("book club"));
+        assertArrayEquals(new int[] {0, 3}, tasks.findByWord("book"));
+        assertArrayEquals(new int[] {0, 2, 3}, tasks.findByKeyword("book"));
+
+        // words that are no longer in any description stop matching
+        tasks.remove(2);
+        assertArrayEquals(new int[] {}, tasks.findByKeyword("keep"));
+        assertArrayEquals(new int[] {0, 2}, tasks.findByKeyword("book"));
+        assertArrayEquals(new int[] {0, 1, 2}, tasks.findByKeyword("ok"));
+    }
+
+    @Test
+    public void testFindDeadlines() {
+        TaskList tasks = new TaskList();
+        tasks.add(new Deadline("b", LocalDateTime.of(2024, 1, 3, 0, 0)));
+        tasks.add(new ToDo("a"));
+        tasks.add(new Deadline("c", LocalDateTime.of(2024, 1, 1, 0, 0)));
+        tasks.add(new Deadline("d", LocalDateTime.of(2024, 1, 2, 0, 0)));
+
+        // ordered by due date
+        assertArrayEquals(new int[] {2, 3}, tasks.findDeadlinesBefore(LocalDateTime.of(2024, 1, 3, 0, 0)));
+        assertArrayEquals(new int[] {3, 0}, tasks.findDeadlinesBetween(
+                LocalDateTime.of(2024, 1, 2, 0, 0), LocalDateTime.of(2024, 1, 3, 0, 0)));
+
+        tasks.remove(1);
+        tasks.add(new Deadline("e", LocalDateTime.of(2023, 12, 31, 0, 0)));
+        assertArrayEquals(new int[] {3, 1, 2}, tasks.findDeadlinesBefore(LocalDateTime.of(2024, 1, 3, 0, 0)));
+    }
+
+    @Test
+    public void testFindEventsOverlapping() {
+        TaskList tasks = new TaskList();
+        tasks.add(new Event("a", LocalDateTime.of(2024, 1, 1, 9, 0), LocalDateTime.of(2024, 1, 1, 10, 0)));
+        tasks.add(new Event("b", LocalDateTime.of(2024, 1, 1, 8, 0), LocalDateTime.of(2024, 1, 1, 17, 0)));
+        tasks.add(new Event("c", LocalDateTime.of(2024, 1, 2, 9, 0), LocalDateTime.of(2024, 1, 2, 10, 0)));
+
+        // ordered by start date, boundaries are inclusive
+        assertArrayEquals(new int[] {1, 0}, tasks.findEventsOverlapping(
+                LocalDateTime.of(2024, 1, 1, 10, 0), LocalDateTime.of(2024, 1, 1, 12, 0)));
+        assertArrayEquals(new int[] {1}, tasks.findEventsOverlapping(
+                LocalDateTime.of(2024, 1, 1, 11, 0), LocalDateTime.of(2024, 1, 2, 8, 0)));
+
+        tasks.remove(1);
+        assertArrayEquals(new int[] {}, tasks.findEventsOverlapping(
+                LocalDateTime.of(2024, 1, 1, 11, 0), LocalDateTime.of(2024, 1, 2, 8, 0)));
+    }
+
+    @Test
+    public void testFenwickBacking() {
+        TaskList tasks = new TaskList(new ArrayList<>(), TaskList.Backing.FENWICK);
+        for (int i = 0; i < 3000; i++) {
+            tasks.add(new ToDo("task " + i + (i % 3 == 0 ? " book" : "")));
+        }
+        assertArrayEquals(new int[] {0, 3}, Arrays.copyOf(tasks.findByWord("book"), 2));
+
+        // remove from the front until the slots are compacted
+        for (int i = 0; i < 2000; i++) {
+            tasks.remove(0);
+        }
+        assertEquals(1000, tasks.size());
+        assertEquals("[T][ ] task 2000", tasks.get(0).toString());
+        assertEquals("[T][ ] task 2999", tasks.get(999).toString());
+        assertArrayEquals(new int[] {1, 4}, Arrays.copyOf(tasks.findByWord("book"), 2));
+
+        // numbering stays consistent after removing from the middle
+        tasks.remove(500);
+        assertEquals("[T][ ] task 2501", tasks.get(500).toString());
+        int count = 0;
+        for (Task task : tasks) {
+            count++;
+        }
+        assertEquals(999, count);
+    }
+
+    @Test
+    public void testConcurrentBackingSnapshot() {
+        TaskList tasks = new TaskList(new ArrayList<>(), TaskList.Backing.CONCURRENT);
+        for (int i = 0; i < 2000; i++) {
+            tasks.add(new ToDo("task " + i + (i % 3 == 0 ? " book" : "")));
+        }
+
+        // snapshots are unaffected by later changes
+        TaskList snapshot = tasks.snapshot();
+        for (int i = 0; i < 1500; i++) {
+            tasks.remove(0);
+        }
+        tasks.add(new ToDo("book club"));
+        assertEquals(2000, snapshot.size());
+        assertEquals("[T][ ] task 1999", snapshot.get(1999).toString());
+
+        assertEquals(501, tasks.size());
+        assertEquals("[T][ ] task 1500 book", tasks.get(0).toString());
+        assertEquals("[T][ ] book club", tasks.get(500).toString());
+        assertArrayEquals(new int[] {0, 3}, Arrays.copyOf(tasks.findByWord("book"), 2));
+        assertEquals(500, tasks.findByWord("book")[167]);
+    }
+
+    @Test
+    public void testSnapshotFind() {
+        for (TaskList.Backing backing : TaskList.Backing.values()) {
+            TaskList tasks = new TaskList(new ArrayList<>(), backing);
+            for (int i = 0; i < 10; i++) {
+                tasks.add(new ToDo("task " + i + (i % 3 == 0 ? " book" : "")));
+            }
+            tasks.remove(0);
+
+            // an unchanged list answers for its snapshot, and a changed one no longer does
+            TaskList snapshot = tasks.snapshot();
+            assertArrayEquals(new int[] {2, 5, 8}, snapshot.findByWord("book"), backing.toString());
+            tasks.remove(0);
+            tasks.add(new ToDo("book club"));
+            assertArrayEquals(new int[] {2, 5, 8}, snapshot.findByWord("book"), backing.toString());
+            assertArrayEquals(new int[] {1, 4, 7, 8}, tasks.findByWord("book"), backing.toString());
+        }
+    }
+
+    @Test
+    public void testColumnarBacking() {
+        TaskList tasks = new TaskList(new ArrayList<>(), TaskList.Backing.COLUMNAR);
+        tasks.add(new ToDo("read book", "chapter 3"));
+        tasks.add(new Deadline("return book", LocalDateTime.of(2024, 1, 3, 18, 0)));
+        tasks.add(new Event("book fair", LocalDateTime.of(2024, 1, 5, 9, 0), LocalDateTime.of(2024, 1, 6, 17, 0)));
+        tasks.add(new ToDo("caf\u00e9"));
+
+        assertEquals("[T][ ] read book (Note: chapter 3)", tasks.get(0).toString());
+        assertEquals(LocalDateTime.of(2024, 1, 3, 18, 0), ((Deadline) tasks.get(1)).getDueDate());
+        assertEquals(LocalDateTime.of(2024, 1, 6, 17, 0), ((Event) tasks.get(2)).getEndDate());
+        assertEquals("caf\u00e9", tasks.get(3).getDescription());
+
+        // changes go through the task list, not through the views
+        tasks.markAsDone(1);
+        tasks.markAsDone(2);
+        tasks.addNote(1, "library");
+        assertTrue(tasks.get(1).getStatus());
+        assertEquals("library", tasks.get(1).getNote().getContent());
+
+        tasks.remove(0);
+        assertEquals(3, tasks.size());
+        assertTrue(tasks.get(0).getStatus());
+        assertTrue(tasks.get(1).getStatus());
+        assertFalse(tasks.get(2).getStatus());
+        assertArrayEquals(new int[] {0, 1}, tasks.findByWord("book"));
+        assertArrayEquals(new int[] {1}, tasks.findEventsOverlapping(
+                LocalDateTime.of(2024, 1, 6, 0, 0), LocalDateTime.of(2024, 1, 7, 0, 0)));
+    }
+
+    @Test
+    public void testConcurrentBackingSnapshotDuringAppends() {
+        TaskList tasks = new TaskList(new ArrayList<>(), TaskList.Backing.CONCURRENT);
+        for (int i = 0; i < 700; i++) {
+            tasks.add(new ToDo("task " + i));
+        }
+        tasks.remove(100);
+
+        // appends share arrays with earlier snapshots but never show up in them
+        TaskList snapshot = tasks.snapshot();
+        for (int i = 700; i < 2000; i++) {
+            tasks.add(new ToDo("task " + i));
+        }
+        assertEquals(699, snapshot.size());
+        int count = 0;
+        for (Task task : snapshot) {
+            count++;
+        }
+        assertEquals(699, count);
+        assertEquals("[T][ ] task 699", snapshot.get(698).toString());
+
+        assertEquals(1999, tasks.size());
+        assertEquals("[T][ ] task 1999", tasks.get(1998).toString());
+        assertArrayEquals(new int[] {1000}, tasks.findByWord("1001"));
+    }
+
+    @Test
+    public void testRemoveAll() {
+        for (TaskList.Backing backing : TaskList.Backing.values()) {
+            TaskList tasks = new TaskList(new ArrayList<>(), backing);
+            for (int i = 0; i < 2000; i++) {
+                tasks.add(new ToDo("task " + i + (i % 3 == 0 ? " book" : "")));
+            }
+            tasks.findByWord("book");
+            tasks.markAsDone(new int[] {1, 2, 3});
+
+            int[] indices = new int[1000];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = i * 2;
+            }
+            tasks.removeAll(indices);
+            tasks.removeAll(new int[] {0});
+
+            assertEquals(999, tasks.size(), backing.toString());
+            assertEquals("[T][X] task 3 book", tasks.get(0).toString(), backing.toString());
+            assertEquals("[T][ ] task 1999", tasks.get(998).toString(), backing.toString());
+            assertArrayEquals(new int[] {0}, tasks.findByStatus(true), backing.toString());
+            assertArrayEquals(new int[] {0, 3}, Arrays.copyOf(tasks.findByWord("book"), 2), backing.toString());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package zbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+public class TenantManagerTest {
+
+    private Path tmpDirectory = Path.of("./tmp/tenants");
+
+    @Test
+    public void testEviction() throws ZBotException {
+        deleteTaskFiles("alice", "bob", "carol");
+        TenantManager manager = new TenantManager(tmpDirectory, 2);
+
+        manager.executeInput("alice", "todo read book");
+        manager.executeInput("bob", "todo write essay");
+        manager.executeInput("alice", "list");
+        manager.executeInput("carol", "list");
+
+        // bob is the least recently used, so his task is saved when he is evicted
+        assertEquals(2, manager.getLoadedCount());
+        assertEquals(1, manager.getEvictionCount());
+        assertEquals(1, loadTaskFile("bob").size());
+        assertEquals(0, loadTaskFile("alice").size());
+
+        assertTrue(manager.executeInput("bob", "list").contains("write essay"));
+        assertEquals(4, manager.getMissCount());
+        assertEquals(1, manager.getHitCount());
+
+        manager.flushAll();
+        assertEquals(1, loadTaskFile("alice").size());
+
+        manager.executeInput("carol", "todo plan trip");
+        manager.close();
+        assertEquals(1, loadTaskFile("carol").size());
+    }
+
+    @Test
+    public void testSingleFlightLoading() throws InterruptedException {
+        deleteTaskFiles("dave");
+        TenantManager manager = new TenantManager(tmpDirectory, 4);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                manager.executeInput("dave", "todo join in");
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, manager.getMissCount());
+        assertEquals(threads.length - 1, manager.getHitCount());
+        assertTrue(manager.executeInput("dave", "list").contains("8. [T][ ] join in"));
+    }
+
+    private void deleteTaskFiles(String... userIds) {
+        for (String userId : userIds) {
+            new File(tmpDirectory.resolve(userId + ".txt").toString()).delete();
+        }
+    }
+
+    private TaskList loadTaskFile(String userId) throws ZBotException {
+        return new TaskList(new Storage(tmpDirectory.resolve(userId + ".txt").toString(), true).load());
+    }
+
+}
@@ -0,0 +1,178 @@
+package zbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class ZBotTest {
+
+    private String tmpFilePath = "./tmp/batch.txt";
+
+    @Test
+    public void testRunBatch() throws IOException, ZBotException {
+        new File(tmpFilePath).delete();
+        ZBot zbot = new ZBot(tmpFilePath, true);
+        StringWriter writer = new StringWriter();
+        String script = "todo read book\ntodo write essay\nlist\nmark 1\nbye\ntodo ignored\n";
+
+        long count = zbot.runBatch(new BufferedReader(new StringReader(script)), writer, 2);
+        assertEquals(4, count);
+        assertTrue(writer.toString().endsWith("\n"));
+        assertFalse(writer.toString().contains("ignored"));
+
+        TaskList loaded = new TaskList(new Storage(tmpFilePath, true).load());
+        assertEquals(2, loaded.size());
+        assertEquals("[T][X] read book", loaded.get(0).toString());
+    }
+
+    @Test
+    public void testLoadFailureKeepsFile() throws IOException {
+        String corruptFilePath = "./tmp/corrupt.txt";
+        new File(corruptFilePath + ".journal").delete();
+        Files.createDirectories(Path.of("./tmp"));
+        Files.writeString(Path.of(corruptFilePath), "T|0|read book\nD|0|return book|23/13/2021\n");
+
+        // the change is not written behind over the file that could not be loaded
+        ZBot zbot = new ZBot(corruptFilePath);
+        assertNotNull(zbot.getLoadErrorMsg());
+        zbot.executeInput("todo write essay");
+        zbot.close();
+        assertEquals("T|0|read book\nD|0|return book|23/13/2021\n", Files.readString(Path.of(corruptFilePath)));
+        assertFalse(new File(corruptFilePath + ".journal").exists());
+
+        new File(corruptFilePath).delete();
+    }
+
+    @Test
+    public void testStreamedListDoesNotBlockChanges() throws Exception {
+        new File(tmpFilePath).delete();
+        ZBot zbot = new ZBot(tmpFilePath, true);
+        zbot.executeInput("todo read book");
+
+        // a change completes while the output is still being written
+        StringBuilder response = new StringBuilder();
+        Appendable slowOutput = new Appendable() {
+            @Override
+            public Appendable append(CharSequence csq) {
+                if (response.length() == 0) {
+                    CompletableFuture.supplyAsync(() -> zbot.executeInput("todo write essay")).join();
+                }
+                response.append(csq);
+                return this;
+            }
+
+            @Override
+            public Appendable append(CharSequence csq, int start, int end) {
+                return append(csq.subSequence(start, end));
+            }
+
+            @Override
+            public Appendable append(char c) {
+                return append(String.valueOf(c));
+            }
+        };
+        CompletableFuture.runAsync(() -> {
+            try {
+                zbot.execute(zbot.parseInput("list"), slowOutput);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }).get(10, TimeUnit.SECONDS);
+
+        // the list is rendered from the tasks as they were when it started
+        assertTrue(response.toString().contains("read book"));
+        assertFalse(response.toString().contains("write essay"));
+        assertTrue(zbot.executeInput("list").contains("2. [T][ ] write essay"));
+    }
+
+    @Test
+    public void testCloseUnregistersMetrics() throws Exception {
+        String metricsFilePath = "./tmp/metrics.txt";
+        new File(metricsFilePath).delete();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("zbot:type=Metrics,name=" + ObjectName.quote(metricsFilePath));
+
+        ZBot zbot = new ZBot(metricsFilePath);
+        assertTrue(server.isRegistered(name));
+        zbot.close();
+        assertFalse(server.isRegistered(name));
+
+        // the name is free for the next instance on the same file
+        zbot = new ZBot(metricsFilePath);
+        assertTrue(server.isRegistered(name));
+        zbot.close();
+        zbot.close();
+        assertFalse(server.isRegistered(name));
+
+        new File(metricsFilePath).delete();
+    }
+
+    @Test
+    public void testStats() {
+        new File(tmpFilePath).delete();
+        ZBot zbot = new ZBot(tmpFilePath, true);
+        zbot.executeInput("todo read book");
+        zbot.executeInput("todo write essay");
+        zbot.executeInput("unknown");
+        zbot.checkpoint();
+
+        String stats = zbot.executeInput("stats");
+        assertTrue(stats.contains("  todo: 2 runs, mean "), stats);
+        assertTrue(stats.contains("  (invalid): 1 run, mean "), stats);
+        assertTrue(stats.contains("  save: 1 run, mean "), stats);
+        assertTrue(stats.contains("  journal: 0 runs\n"), stats);
+        assertFalse(stats.contains("  0 bytes written"), stats);
+    }
+
+    @Test
+    public void testFlightRecorderEvents() throws IOException {
+        new File(tmpFilePath).delete();
+        ZBot zbot = new ZBot(tmpFilePath, true);
+        Path recordingPath = Path.of("./tmp/events.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("zbot.Command");
+            recording.enable("zbot.Save");
+            recording.start();
+            zbot.executeInput("todo read book");
+            zbot.checkpoint();
+            recording.stop();
+            recording.dump(recordingPath);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingPath);
+        RecordedEvent command = events.stream()
+                .filter(event -> event.getEventType().getName().equals("zbot.Command")).findFirst().get();
+        assertEquals("todo", command.getString("command"));
+        assertTrue(command.getBoolean("isMutating"));
+        assertEquals(1, command.getInt("taskCount"));
+
+        RecordedEvent save = events.stream()
+                .filter(event -> event.getEventType().getName().equals("zbot.Save")).findFirst().get();
+        assertEquals(1, save.getInt("taskCount"));
+        assertTrue(save.getLong("bytesWritten") > 0);
+        Files.delete(recordingPath);
+    }
+
+}
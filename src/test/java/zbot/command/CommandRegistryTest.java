@@ -0,0 +1,155 @@
+package zbot.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+import zbot.Storage;
+import zbot.TaskList;
+import zbot.ui.Ui;
+
+public class CommandRegistryTest {
+
+    private String tmpFilePath = "./tmp/commands.txt";
+    private CommandRegistry registry = CommandRegistry.createDefault();
+
+    @Test
+    public void testParseFlags() {
+        ParsedCommand command = registry.parse("deadline return book /by 02/12/2019 1800");
+        assertEquals("deadline", command.getName());
+        assertEquals("return book", command.getBody());
+        assertEquals("02/12/2019 1800", command.getFlag("by"));
+
+        // flags are only recognized in order, so a later "/to" belongs to the last value
+        command = registry.parse("event a /to b /from c /to d /to e");
+        assertEquals("a /to b", command.getBody());
+        assertEquals("c", command.getFlag("from"));
+        assertEquals("d /to e", command.getFlag("to"));
+
+        command = registry.parse("due /from 01/01/2024 /to 02/01/2024");
+        assertEquals("", command.getBody());
+        assertEquals("01/01/2024", command.getFlag("from"));
+
+        command = registry.parse("todo read /bypass notes");
+        assertEquals("read /bypass notes", command.getBody());
+    }
+
+    @Test
+    public void testParseNames() {
+        assertNull(registry.parse("todoread").getCommand());
+        assertNull(registry.parse("notes 1 x").getCommand());
+        assertTrue(registry.parse("note 1 x").getCommand() instanceof NoteCommand);
+        assertNull(registry.parse("list").getArguments());
+        assertEquals("", registry.parse("todo ").getBody());
+    }
+
+    @Test
+    public void testExecute() {
+        new File(tmpFilePath).delete();
+        TaskList tasks = new TaskList();
+        CommandContext context = new CommandContext(tasks, new Storage(tmpFilePath), new Ui());
+
+        execute("todo read book", context);
+        execute("deadline return book /by 02/12/2019 1800", context);
+        execute("mark 2", context);
+        execute("note 1 chapter 3", context);
+        assertEquals("[T][ ] read book (Note: chapter 3)", tasks.get(0).toString());
+        assertEquals("[D][X] return book (by: 2 Dec 2019 18:00)", tasks.get(1).toString());
+
+        assertEquals("Please enter a valid task number!\n", execute("mark 3", context));
+        assertEquals("Please enter a valid task number!\n", execute("delete x", context));
+        assertEquals("Please enter a valid task format!\n", execute("deadline x /by", context));
+        assertEquals("2. [D][X] return book (by: 2 Dec 2019 18:00)\n", execute("find return", context));
+
+        new File(tmpFilePath).delete();
+    }
+
+    @Test
+    public void testExecuteAddBlank() {
+        new File(tmpFilePath).delete();
+        TaskList tasks = new TaskList();
+        CommandContext context = new CommandContext(tasks, new Storage(tmpFilePath), new Ui());
+
+        assertEquals("Please enter a valid task format!\n", execute("todo", context));
+        assertEquals("Please enter a valid task format!\n", execute("todo    ", context));
+        assertEquals("Please enter a valid task format!\n", execute("deadline /by 02/12/2019 1800", context));
+        assertEquals("Please enter a valid task format!\n",
+                execute("event  /from 02/12/2019 /to 03/12/2019", context));
+        assertEquals(0, tasks.size());
+
+        new File(tmpFilePath).delete();
+    }
+
+    @Test
+    public void testExecuteBatch() {
+        new File(tmpFilePath).delete();
+        TaskList tasks = new TaskList();
+        CommandContext context = new CommandContext(tasks, new Storage(tmpFilePath), new Ui());
+        for (int i = 1; i <= 20; i++) {
+            execute("todo task " + i, context);
+        }
+
+        assertEquals("Nice! I've marked 5 tasks as done.\n", execute("mark 1-4,10,3", context));
+        execute("unmark 10", context);
+        assertEquals("OK, I've marked 1 task as not done yet.\n", execute("unmark 2-2", context));
+        assertEquals("Noted. I've removed 3 tasks.\nNow you have 17 tasks in the list.\n",
+                execute("delete done", context));
+        assertEquals("[T][ ] task 2", tasks.get(0).toString());
+        assertEquals("Noted. I've removed 3 tasks.\nNow you have 14 tasks in the list.\n",
+                execute("delete 4,9,12", context));
+        assertEquals("Please enter a valid task number!\n", execute("mark 3-99", context));
+        assertEquals("Please enter a valid task number!\n", execute("delete 3,x", context));
+        assertEquals("Nice! I've marked 14 tasks as done.\n", execute("mark all", context));
+
+        new File(tmpFilePath).delete();
+    }
+
+    @Test
+    public void testExecuteList() throws IOException {
+        new File(tmpFilePath).delete();
+        TaskList tasks = new TaskList();
+        CommandContext context = new CommandContext(tasks, new Storage(tmpFilePath), new Ui());
+        for (int i = 1; i <= 5; i++) {
+            execute("todo task " + i, context);
+            execute("deadline report " + i + " /by 0" + i + "/12/2019", context);
+        }
+        execute("mark 1-4", context);
+
+        assertEquals("Here are the tasks in your list:\n"
+                + "3. [T][X] task 2\n4. [D][X] report 2 (by: 2 Dec 2019 23:59)\nPage 2 of 5.\n",
+                execute("list page 2 size 2", context));
+        assertEquals("Here are the tasks in your list:\nNo tasks found.\nPage 1 of 1.\n",
+                execute("list type event page 1", context));
+        assertEquals("Here are the tasks in your list:\n8. [D][ ] report 4 (by: 4 Dec 2019 23:59)\n"
+                + "10. [D][ ] report 5 (by: 5 Dec 2019 23:59)\nPage 2 of 2.\n",
+                execute("list type deadline page 2 size 3", context));
+        assertEquals(7, execute("list undone", context).split("\n").length);
+        assertEquals(11, execute("list", context).split("\n").length);
+
+        assertEquals("Please enter a valid task format!\n", execute("list page 0", context));
+        assertEquals("Please enter a valid task format!\n", execute("list type todo page 3", context));
+        assertEquals("Please enter a valid task format!\n", execute("list page 99", context));
+        assertEquals("Please enter a valid task format!\n", execute("list type task", context));
+        assertEquals("Please enter a valid task format!\n", execute("list page 1 size x", context));
+        assertEquals("Please enter a valid task format!\n", execute("list undone extra", context));
+
+        // The streaming variant writes the same response
+        StringWriter writer = new StringWriter();
+        ParsedCommand command = registry.parse("list undone page 1 size 4");
+        command.getCommand().execute(command, context, writer);
+        assertEquals(execute("list undone page 1 size 4", context), writer.toString());
+
+        new File(tmpFilePath).delete();
+    }
+
+    private String execute(String input, CommandContext context) {
+        ParsedCommand command = registry.parse(input);
+        return command.getCommand().execute(command, context);
+    }
+}
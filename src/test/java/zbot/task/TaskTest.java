@@ -1,6 +1,9 @@
 package zbot.task;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDateTime;
 
 import org.junit.jupiter.api.Test;
 
@@ -33,4 +36,20 @@ public class TaskTest {
         task.markAsDone();
         assertEquals("X", task.getStatusIcon());
     }
+
+    @Test
+    public void testRenderedLineCache() {
+        Task task = new Deadline("return book", LocalDateTime.of(2019, 12, 2, 18, 0));
+        String line = task.toString();
+        assertSame(line, task.toString());
+
+        task.markAsDone();
+        assertEquals("[D][X] return book (by: 2 Dec 2019 18:00)", task.toString());
+        task.addNote("library");
+        assertEquals("[D][X] return book (Note: library) (by: 2 Dec 2019 18:00)", task.toString());
+        task.markAsUndone();
+        line = task.toString();
+        assertEquals("[D][ ] return book (Note: library) (by: 2 Dec 2019 18:00)", line);
+        assertSame(line, task.toString());
+    }
 }
@@ -0,0 +1,78 @@
+package zbot.ui;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import zbot.ZBot;
+
+public class CommandPipelineTest {
+
+    @Test
+    public void testOrderAndShutdown() throws IOException, InterruptedException, ExecutionException {
+        Path dataDirectory = Files.createTempDirectory("zbot-pipeline");
+        String filePath = dataDirectory.resolve("tasks.txt").toString();
+        CommandPipeline pipeline = new CommandPipeline(new ZBot(filePath, true), Runnable::run);
+
+        List<CompletableFuture<String>> responses = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            responses.add(pipeline.submit("todo task " + i));
+        }
+        CompletableFuture<Void> terminated = pipeline.shutdown();
+        assertSame(terminated, pipeline.shutdown());
+        terminated.get();
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(responses.get(i).get().contains((i + 1) + " tasks"), responses.get(i).get());
+        }
+        assertThrows(ExecutionException.class, () -> pipeline.submit("list").get());
+
+        String reloaded = new ZBot(filePath, true).executeInput("list");
+        assertTrue(reloaded.contains("100. [T][ ] task 99"), reloaded);
+
+        for (File file : dataDirectory.toFile().listFiles()) {
+            file.delete();
+        }
+        Files.delete(dataDirectory);
+    }
+
+    @Test
+    public void testErrorsComplete() throws IOException, InterruptedException {
+        Path dataDirectory = Files.createTempDirectory("zbot-pipeline");
+        String filePath = dataDirectory.resolve("tasks.txt").toString();
+        ZBot failingZbot = new ZBot(filePath, true) {
+            @Override
+            public String executeInput(String input) {
+                throw new AssertionError("Failed on purpose.");
+            }
+
+            @Override
+            public void close() {
+                throw new AssertionError("Failed on purpose.");
+            }
+        };
+        CommandPipeline pipeline = new CommandPipeline(failingZbot, Runnable::run);
+
+        // errors complete the futures exceptionally instead of leaving them pending
+        ExecutionException e = assertThrows(ExecutionException.class, () -> pipeline.submit("list").get());
+        assertTrue(e.getCause() instanceof AssertionError);
+        assertThrows(ExecutionException.class, () -> pipeline.shutdown().get());
+
+        for (File file : dataDirectory.toFile().listFiles()) {
+            file.delete();
+        }
+        Files.delete(dataDirectory);
+    }
+
+}
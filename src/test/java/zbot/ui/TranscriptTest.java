@@ -0,0 +1,53 @@
+package zbot.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TranscriptTest {
+
+    @Test
+    public void testScrollbackLimit() {
+        Transcript transcript = new Transcript(3);
+        for (int i = 0; i < 5; i++) {
+            transcript.add(new Message("command " + i, true), new Message("reply " + i, false));
+        }
+
+        List<Message> messages = transcript.getMessages();
+        assertEquals(3, messages.size());
+        assertEquals("reply 3", messages.get(0).getText());
+        assertEquals("command 4", messages.get(1).getText());
+        assertTrue(messages.get(1).isFromUser());
+        assertEquals("reply 4", messages.get(2).getText());
+    }
+
+    @Test
+    public void testScrollbackTrimmedInBatches() {
+        Transcript transcript = new Transcript(100);
+        for (int i = 0; i < 101; i++) {
+            transcript.add(new Message("message " + i, true));
+        }
+
+        // a tenth of the limit is dropped along with the excess
+        List<Message> messages = transcript.getMessages();
+        assertEquals(90, messages.size());
+        assertEquals("message 11", messages.get(0).getText());
+
+        for (int i = 101; i < 111; i++) {
+            transcript.add(new Message("message " + i, true));
+        }
+        assertEquals(100, messages.size());
+    }
+
+    @Test
+    public void testMessagesReadOnly() {
+        Transcript transcript = new Transcript(10);
+        transcript.add(new Message("hello", true));
+        assertThrows(UnsupportedOperationException.class, () -> transcript.getMessages().clear());
+    }
+
+}